@@ -27,10 +27,18 @@ public class BloodRequestController {
         return ResponseEntity.ok(requests);
     }
 
+    // Body stays a plain array for existing web/mobile clients; the next page is
+    // advertised through the X-Next-Cursor header
     @GetMapping("/get")
-    public ResponseEntity<List<BloodRequestDTO>> getAllRequests() {
-        List<BloodRequestDTO> requests = bloodRequestService.getAllRequestsSortedByDateDesc();
-        return ResponseEntity.ok(requests);
+    public ResponseEntity<List<BloodRequestDTO>> getAllRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BloodRequestService.DEFAULT_PAGE_SIZE) int size) {
+        BloodRequestService.RequestPage page = bloodRequestService.getRequestsPage(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header("X-Next-Cursor", page.nextCursor());
+        }
+        return response.body(page.items());
     }
 }
 
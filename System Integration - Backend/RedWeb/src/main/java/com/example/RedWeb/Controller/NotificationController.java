@@ -5,6 +5,7 @@ import com.example.RedWeb.Service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -15,8 +16,12 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    // Poll with afterId = the highest id already received to fetch only new notifications,
+    // oldest first; a full page means more are waiting
     @GetMapping
-    public List<NotificationEntity> getAll() {
-        return notificationService.getAll();
+    public List<NotificationEntity> getAll(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + NotificationService.DEFAULT_LIMIT) int limit) {
+        return notificationService.getRecent(afterId, limit);
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.example.RedWeb.Repo;
 
 import com.example.RedWeb.Entity.BloodRequestEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BloodRequestRepository extends JpaRepository <BloodRequestEntity, Long> {
@@ -11,4 +15,12 @@ public interface BloodRequestRepository extends JpaRepository <BloodRequestEntit
 
     @Query("SELECT b FROM BloodRequestEntity b ORDER BY b.createdAt DESC")
     List<BloodRequestEntity> findAllSortedByDateDesc();
+
+    @Query("SELECT b FROM BloodRequestEntity b ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BloodRequestEntity> findFirstPageSortedByDateDesc(Pageable pageable);
+
+    @Query("SELECT b FROM BloodRequestEntity b WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    Slice<BloodRequestEntity> findPageSortedByDateDescBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                            @Param("id") Long id, Pageable pageable);
 }
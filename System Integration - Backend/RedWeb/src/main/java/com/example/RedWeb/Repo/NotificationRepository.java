@@ -1,9 +1,14 @@
 package com.example.RedWeb.Repo;
 
 import com.example.RedWeb.Entity.NotificationEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<NotificationEntity, Long> {
-    List<NotificationEntity> findAllByOrderByCreatedAtDesc();
+    // Ids are assigned in insert order, so "newer than the last one seen" is an id range scan
+    List<NotificationEntity> findAllByOrderByIdDesc(Pageable pageable);
+
+    // Oldest first, so a page that fills up leaves the rest for the next poll
+    List<NotificationEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
\ No newline at end of file
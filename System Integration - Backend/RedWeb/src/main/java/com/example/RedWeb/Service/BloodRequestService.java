@@ -5,13 +5,23 @@ import com.example.RedWeb.Entity.BloodRequestEntity;
 import com.example.RedWeb.Repo.BloodRequestRepository;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class BloodRequestService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private BloodRequestRepository bloodRequestRepository;
 
@@ -42,11 +52,40 @@ public class BloodRequestService {
         return dto;
     }
 
-    public List<BloodRequestDTO> getAllRequestsSortedByDateDesc() {
-        List<BloodRequestEntity> entities = bloodRequestRepository.findAllSortedByDateDesc();
-        return entities.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // One page of requests, newest first; nextCursor is null on the last page
+    public record RequestPage(List<BloodRequestDTO> items, String nextCursor) {
+    }
+
+    public RequestPage getRequestsPage(String cursor, int size) {
+        PageRequest pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        Slice<BloodRequestEntity> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = bloodRequestRepository.findFirstPageSortedByDateDesc(pageable);
+        } else {
+            String[] parts = decodeCursor(cursor);
+            slice = bloodRequestRepository.findPageSortedByDateDescBefore(
+                    LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]), pageable);
+        }
+
+        List<BloodRequestEntity> entities = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !entities.isEmpty()) {
+            BloodRequestEntity last = entities.get(entities.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new RequestPage(entities.stream().map(this::convertToDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            LocalDateTime.parse(parts[0]);
+            Long.valueOf(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor");
+        }
     }
 
     public void saveRequest(BloodRequestDTO dto) {
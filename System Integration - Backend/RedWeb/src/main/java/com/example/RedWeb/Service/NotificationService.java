@@ -3,12 +3,16 @@ package com.example.RedWeb.Service;
 import com.example.RedWeb.Entity.NotificationEntity;
 import com.example.RedWeb.Repo.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
 public class NotificationService {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -19,7 +23,16 @@ public class NotificationService {
         notificationRepository.save(notification);
     }
 
-    public List<NotificationEntity> getAll() {
-        return notificationRepository.findAllByOrderByCreatedAtDesc();
+    /**
+     * Without {@code afterId}, the newest notifications, newest first. With it, the
+     * notifications after {@code afterId} in the order they were created, at most
+     * {@code limit} of them: a polling client passes the highest id it has seen and keeps
+     * polling until a page comes back short, so a burst larger than one page is not skipped.
+     */
+    public List<NotificationEntity> getRecent(Long afterId, int limit) {
+        PageRequest pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return afterId == null
+                ? notificationRepository.findAllByOrderByIdDesc(pageable)
+                : notificationRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.RedWeb.Service;
+
+import com.example.RedWeb.Entity.NotificationEntity;
+import com.example.RedWeb.Repo.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    private final List<NotificationEntity> stored = new ArrayList<>();
+    private final NotificationService notificationService = new NotificationService();
+
+    NotificationServiceTest() {
+        // The derived queries, answered from an in-memory table
+        NotificationRepository repository = mock(NotificationRepository.class);
+        when(repository.findAllByOrderByIdDesc(any())).thenAnswer(invocation -> stored.stream()
+                .sorted(Comparator.comparing(NotificationEntity::getId).reversed())
+                .limit(invocation.getArgument(0, Pageable.class).getPageSize())
+                .toList());
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> stored.stream()
+                .filter(notification -> notification.getId() > invocation.getArgument(0, Long.class))
+                .sorted(Comparator.comparing(NotificationEntity::getId))
+                .limit(invocation.getArgument(1, Pageable.class).getPageSize())
+                .toList());
+        ReflectionTestUtils.setField(notificationService, "notificationRepository", repository);
+    }
+
+    @Test
+    void pollingAfterABurstLargerThanOnePageMissesNothing() {
+        insert(3);
+        List<NotificationEntity> first = notificationService.getRecent(null, 5);
+        long lastSeen = first.get(0).getId();
+
+        // More arrive between two polls than one page holds
+        insert(12);
+        List<Long> received = new ArrayList<>();
+        List<NotificationEntity> page;
+        do {
+            page = notificationService.getRecent(lastSeen, 5);
+            for (NotificationEntity notification : page) {
+                received.add(notification.getId());
+                lastSeen = notification.getId();
+            }
+        } while (page.size() == 5);
+
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L), received);
+    }
+
+    @Test
+    void firstPollReturnsTheNewestFirst() {
+        insert(4);
+
+        List<NotificationEntity> recent = notificationService.getRecent(null, 2);
+
+        assertEquals(List.of(4L, 3L), recent.stream().map(NotificationEntity::getId).toList());
+    }
+
+    private void insert(int count) {
+        for (int i = 0; i < count; i++) {
+            NotificationEntity notification = new NotificationEntity();
+            notification.setId((long) stored.size() + 1);
+            notification.setTitle("Notice " + notification.getId());
+            stored.add(notification);
+        }
+    }
+}
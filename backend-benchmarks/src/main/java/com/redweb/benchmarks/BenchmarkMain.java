@@ -0,0 +1,80 @@
+package com.redweb.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options, and unless -rf/-rff are given
+ * also writes the results as JSON to results/&lt;commit&gt;.json, named after the checked out
+ * commit (or -Dredweb.benchmark.label), so two runs can be compared with ResultsDiff.
+ */
+public final class BenchmarkMain {
+
+    // Options that only print something; JMH's own Main handles those
+    private static final Set<String> LISTING_OPTIONS = Set.of("-h", "-l", "-lp", "-lprof", "-lrf");
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        if (List.of(args).stream().anyMatch(LISTING_OPTIONS::contains)) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        CommandLineOptions commandLine;
+        try {
+            commandLine = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getResultFormat().hasValue() || commandLine.getResult().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+        Path results = Path.of("results", label() + ".json");
+        Files.createDirectories(results.getParent());
+        options.resultFormat(ResultFormatType.JSON).result(results.toString());
+        new Runner(options.build()).run();
+    }
+
+    private static String label() {
+        String label = System.getProperty("redweb.benchmark.label");
+        if (label != null && !label.isBlank()) {
+            return label;
+        }
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit;
+            try (InputStream output = git.getInputStream()) {
+                commit = new String(output.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            if (git.waitFor() == 0 && !commit.isEmpty()) {
+                return commit;
+            }
+        } catch (IOException e) {
+            // No git on the path; fall back to the time of the run
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.redweb.benchmarks;
+
+import com.redweb.backend.model.BloodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts compatible donors for one recipient over a synthetic donor list, comparing the
+ * legacy String.equals chain with the BloodType bitmask table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BloodTypeMatchingBenchmark {
+
+    @Param({"1000000"})
+    private int donorCount;
+
+    @Param({"O-", "A+", "AB+"})
+    private String recipient;
+
+    private String[] donorLabels;
+    private BloodType[] donorTypes;
+    private BloodType recipientType;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        donorTypes = SyntheticData.bloodTypes(donorCount);
+        donorLabels = new String[donorCount];
+        for (int i = 0; i < donorCount; i++) {
+            // Fresh String instances, as they would be after being read from JDBC
+            donorLabels[i] = new String(donorTypes[i].getLabel());
+        }
+        recipientType = BloodType.fromLabel(recipient);
+    }
+
+    @Benchmark
+    public int legacyStringChain() {
+        int matches = 0;
+        for (String donor : donorLabels) {
+            if (LegacyBloodTypeMatcher.isCompatibleBloodType(donor, recipient)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int bitmaskTable() {
+        int donorMask = recipientType.compatibleDonorMask();
+        int matches = 0;
+        for (BloodType donor : donorTypes) {
+            if ((donorMask & donor.bit()) != 0) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int canDonateTo() {
+        int matches = 0;
+        for (BloodType donor : donorTypes) {
+            if (donor.canDonateTo(recipientType)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,82 @@
+package com.redweb.benchmarks;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.User;
+import com.redweb.backend.service.DonorSpatialIndex;
+import com.redweb.backend.util.GeoUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One emergency donor search over a large synthetic user list: filtering every user for an
+ * opted-in, compatible donor within the radius and sorting by distance, as a scan of the
+ * loaded users would, against the DonorSpatialIndex the search endpoints use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DonorFilteringBenchmark {
+
+    private static final double LATITUDE = 7.3;
+    private static final double LONGITUDE = 80.3;
+    private static final int LIMIT = 50;
+
+    @Param({"100000", "1000000"})
+    private int users;
+
+    @Param({"5", "25"})
+    private double radiusKm;
+
+    @Param({"O-", "AB+"})
+    private String recipient;
+
+    private List<User> population;
+    private DonorSpatialIndex index;
+    private BloodType recipientType;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        population = SyntheticData.users(users, User.UserRole.DONOR);
+        index = new DonorSpatialIndex();
+        population.forEach(index::update);
+        recipientType = BloodType.fromLabel(recipient);
+    }
+
+    @Benchmark
+    public List<User> streamFilter() {
+        int donorMask = recipientType.compatibleDonorMask();
+        return population.stream()
+                .filter(user -> user.isEmergencyOptIn() && user.getRole() == User.UserRole.DONOR)
+                .filter(user -> (donorMask & user.getBloodType().bit()) != 0)
+                .filter(user -> distanceKm(user) <= radiusKm)
+                .sorted(Comparator.comparingDouble(DonorFilteringBenchmark::distanceKm))
+                .limit(LIMIT)
+                .toList();
+    }
+
+    @Benchmark
+    public List<DonorSpatialIndex.DonorMatch> spatialIndex() {
+        return index.findNearest(LATITUDE, LONGITUDE, radiusKm, LIMIT, recipientType);
+    }
+
+    private static double distanceKm(User user) {
+        return GeoUtils.distanceKm(LATITUDE, LONGITUDE, user.getLatitude(), user.getLongitude());
+    }
+}
@@ -0,0 +1,104 @@
+package com.redweb.benchmarks;
+
+import com.redweb.backend.service.FileStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent 10MB uploads: the Files.copy into a flat directory that the three upload
+ * controllers used to do, against FileStorageService (transferFrom + SHA-256 + sharding).
+ * Every upload gets distinct content so deduplication never short-circuits the write, and
+ * each stored file is deleted again so the run does not fill the disk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(4)
+public class FileUploadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Storage {
+
+        @Param({"10"})
+        public int sizeMb;
+
+        Path dir;
+        Path legacyDir;
+        FileStorageService service;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("redweb-upload-bench");
+            legacyDir = dir.resolve("legacy");
+            service = new FileStorageService(dir.resolve("sharded").toString(), DataSize.ofMegabytes(sizeMb + 1));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileSystemUtils.deleteRecursively(dir);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Upload {
+
+        byte[] content;
+        long counter;
+
+        @Setup(Level.Trial)
+        public void setUp(Storage storage) {
+            content = new byte[storage.sizeMb << 20];
+            new Random(Thread.currentThread().getId()).nextBytes(content);
+        }
+
+        ByteArrayInputStream next() {
+            // Distinct content per upload, so the content hash never matches a previous file
+            ByteBuffer.wrap(content).putLong(0, Thread.currentThread().getId()).putLong(8, counter++);
+            return new ByteArrayInputStream(content);
+        }
+    }
+
+    @Benchmark
+    public long legacyFilesCopy(Storage storage, Upload upload) throws IOException {
+        if (!Files.exists(storage.legacyDir)) {
+            Files.createDirectories(storage.legacyDir);
+        }
+        Path target = storage.legacyDir.resolve(UUID.randomUUID() + ".pdf");
+        long written = Files.copy(upload.next(), target, StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(target);
+        return written;
+    }
+
+    @Benchmark
+    public long fileStorageService(Storage storage, Upload upload) throws IOException {
+        FileStorageService.StoredFile stored = storage.service.store(upload.next(), "scan.pdf");
+        Files.delete(storage.service.resolve(stored.filename()));
+        return stored.size();
+    }
+}
@@ -0,0 +1,92 @@
+package com.redweb.benchmarks;
+
+import com.redweb.backend.model.User;
+import com.redweb.backend.security.AuthenticatedPrincipalCache;
+import com.redweb.backend.security.JwtTokenProvider;
+import com.redweb.backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider signing a token at login and verifying one on a request, against the
+ * AuthenticatedPrincipalCache hit that lets JwtAuthenticationFilter skip the verification
+ * for a token it has already seen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private JwtTokenProvider tokenProvider;
+    private AuthenticatedPrincipalCache principalCache;
+    private Authentication authentication;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The provider's own @Value and @PostConstruct wiring, without the rest of the application
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("jwt", Map.of(
+                "app.jwtSecret", "redWebBenchmarkSecretKey1234567890123456789012",
+                "app.jwtExpirationMs", "86400000")));
+        context.register(JwtTokenProvider.class);
+        context.refresh();
+        tokenProvider = context.getBean(JwtTokenProvider.class);
+
+        UserPrincipal principal = UserPrincipal.create(SyntheticData.users(1, User.UserRole.DONOR).get(0));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+
+        principalCache = new AuthenticatedPrincipalCache(10_000, Duration.ofMinutes(5));
+        principalCache.get(token, this::verify);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generate() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public Claims validate() {
+        return tokenProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipalCache.Entry validateCached() {
+        return principalCache.get(token, this::verify);
+    }
+
+    private AuthenticatedPrincipalCache.Entry verify(String jwt) {
+        Claims claims = tokenProvider.parseClaims(jwt);
+        return new AuthenticatedPrincipalCache.Entry(UserPrincipal.fromClaims(claims), claims.getId(),
+                claims.getIssuedAt().getTime(), claims.getExpiration().getTime());
+    }
+}
@@ -0,0 +1,48 @@
+package com.redweb.benchmarks;
+
+/**
+ * Copy of the string-chained compatibility check that UserService used before
+ * BloodType was introduced, kept as the baseline for BloodTypeMatchingBenchmark.
+ */
+public final class LegacyBloodTypeMatcher {
+
+    private LegacyBloodTypeMatcher() {
+    }
+
+    public static boolean isCompatibleBloodType(String donorType, String recipientType) {
+        if (donorType.equals("O-")) return true;
+
+        if (donorType.equals("O+")) {
+            return recipientType.equals("A+") || recipientType.equals("B+") ||
+                   recipientType.equals("AB+") || recipientType.equals("O+");
+        }
+
+        if (donorType.equals("A-")) {
+            return recipientType.equals("A+") || recipientType.equals("A-") ||
+                   recipientType.equals("AB+") || recipientType.equals("AB-");
+        }
+
+        if (donorType.equals("A+")) {
+            return recipientType.equals("A+") || recipientType.equals("AB+");
+        }
+
+        if (donorType.equals("B-")) {
+            return recipientType.equals("B+") || recipientType.equals("B-") ||
+                   recipientType.equals("AB+") || recipientType.equals("AB-");
+        }
+
+        if (donorType.equals("B+")) {
+            return recipientType.equals("B+") || recipientType.equals("AB+");
+        }
+
+        if (donorType.equals("AB-")) {
+            return recipientType.equals("AB+") || recipientType.equals("AB-");
+        }
+
+        if (donorType.equals("AB+")) {
+            return recipientType.equals("AB+");
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.redweb.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redweb.backend.dto.summary.DonationSummary;
+import com.redweb.backend.dto.summary.EmergencyRequestCard;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing one list response with the ObjectMapper Spring Boot configures: entities with
+ * every association loaded, as the list endpoints used to return them, against the
+ * summary records they return now. Sample mode reports p50/p99/p99.9 per list; the
+ * payload size of each variant is printed once per trial.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListSerializationBenchmark {
+
+    @Param({"50", "1000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Donation> donations;
+    private List<DonationSummary> donationSummaries;
+    private List<EmergencyRequest> requests;
+    private List<EmergencyRequestCard> requestCards;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<User> donors = SyntheticData.users(rows, User.UserRole.DONOR);
+        List<User> patients = SyntheticData.users(Math.max(1, rows / 4), User.UserRole.PATIENT);
+        List<User> organizers = SyntheticData.users(10, User.UserRole.ADMIN);
+        List<DonationDrive> drives = SyntheticData.drives(Math.max(1, rows / 10), organizers);
+        requests = SyntheticData.emergencyRequests(rows, patients);
+        donations = SyntheticData.donations(rows, donors, drives, requests);
+        donationSummaries = donations.stream().map(ListSerializationBenchmark::summarize).toList();
+        requestCards = requests.stream().map(EmergencyRequestCard::of).toList();
+
+        System.out.printf("%nPayload bytes for %d rows: donations %d -> %d, emergency requests %d -> %d%n", rows,
+                objectMapper.writeValueAsBytes(donations).length,
+                objectMapper.writeValueAsBytes(donationSummaries).length,
+                objectMapper.writeValueAsBytes(requests).length,
+                objectMapper.writeValueAsBytes(requestCards).length);
+    }
+
+    @Benchmark
+    public byte[] donationEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(donations);
+    }
+
+    @Benchmark
+    public byte[] donationSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(donationSummaries);
+    }
+
+    @Benchmark
+    public byte[] emergencyRequestEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requests);
+    }
+
+    @Benchmark
+    public byte[] emergencyRequestCards() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requestCards);
+    }
+
+    // What DonationRepository.SUMMARY selects for the same row
+    private static DonationSummary summarize(Donation donation) {
+        User donor = donation.getDonor();
+        DonationDrive drive = donation.getDrive();
+        EmergencyRequest request = donation.getEmergencyRequest();
+        return new DonationSummary(donation.getId(), donor.getId(), donor.getFirstName() + " " + donor.getLastName(),
+                drive == null ? null : drive.getId(), drive == null ? null : drive.getTitle(),
+                request == null ? null : request.getId(), donation.getDonationDate(), donation.getBloodType(),
+                donation.getUnits(), donation.getPointsAwarded(), donation.getStatus(), donation.getCreatedAt());
+    }
+}
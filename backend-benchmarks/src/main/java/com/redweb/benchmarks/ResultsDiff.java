@@ -0,0 +1,86 @@
+package com.redweb.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compares two JMH JSON result files, such as results/&lt;commit&gt;.json from two commits:
+ * <pre>
+ * java -cp target/benchmarks.jar com.redweb.benchmarks.ResultsDiff results/abc1234.json results/def5678.json
+ * </pre>
+ * Prints each benchmark and parameter combination found in either file with both scores and
+ * the relative change. A change is flagged when the scores differ by more than their
+ * combined error margins.
+ */
+public final class ResultsDiff {
+
+    private ResultsDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ResultsDiff <before.json> <after.json>");
+            System.exit(1);
+        }
+        Map<String, Score> before = read(Path.of(args[0]));
+        Map<String, Score> after = read(Path.of(args[1]));
+
+        Set<String> keys = new TreeSet<>(before.keySet());
+        keys.addAll(after.keySet());
+
+        int width = keys.stream().mapToInt(String::length).max().orElse(9);
+        System.out.printf("%-" + width + "s %14s %14s %9s  %s%n", "Benchmark", "Before", "After", "Change", "Unit");
+        for (String key : keys) {
+            Score old = before.get(key);
+            Score now = after.get(key);
+            if (old == null || now == null) {
+                Score present = old != null ? old : now;
+                System.out.printf("%-" + width + "s %14s %14s %9s  %s%n", key,
+                        old == null ? "-" : format(old.score()), now == null ? "-" : format(now.score()),
+                        old == null ? "new" : "removed", present.unit());
+                continue;
+            }
+            double change = old.score() == 0 ? 0 : (now.score() - old.score()) / old.score() * 100;
+            boolean significant = Math.abs(now.score() - old.score()) > old.error() + now.error();
+            System.out.printf("%-" + width + "s %14s %14s %+8.1f%%  %s%s%n", key, format(old.score()),
+                    format(now.score()), change, now.unit(), significant ? "  *" : "");
+        }
+        System.out.println("* difference larger than the combined error of both runs");
+    }
+
+    // Keyed by benchmark name, mode and parameters
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.redweb.benchmarks.", ""));
+            key.append(" (").append(run.path("mode").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(", ").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            key.append(')');
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static String format(double score) {
+        return String.format("%.3f", score);
+    }
+
+    private record Score(double score, double error, String unit) {
+    }
+}
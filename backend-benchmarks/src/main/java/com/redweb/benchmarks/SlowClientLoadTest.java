@@ -0,0 +1,243 @@
+package com.redweb.benchmarks;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test against a running backend, for comparing Tomcat's platform thread pool with
+ * app.threads.virtual=true. Not a JMH benchmark: the server runs in its own JVM.
+ *
+ * Each of the slow clients uploads a document to /api/public/upload in a loop, trickling
+ * the multipart body over the trickle time the way a phone on a poor connection does, so
+ * every upload holds its server thread while it arrives. A probe client meanwhile calls a
+ * cheap endpoint every 100 ms; its latency shows how long unrelated requests wait for a
+ * thread. Throughput, p50/p99/p99.9 and max are printed for both, with errors counted
+ * separately. All uploads share their content, so the server stores a single file.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.redweb.benchmarks.SlowClientLoadTest \
+ *     --url http://localhost:8080 --clients 1000 --duration 60 --trickle 2000 --size 65536 --probe /api/badges
+ * </pre>
+ */
+public final class SlowClientLoadTest {
+
+    private static final int TRICKLE_CHUNKS = 20;
+    private static final String BOUNDARY = "redweb-load-test";
+
+    private SlowClientLoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = options(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "60")));
+        long trickleMillis = Long.parseLong(options.getOrDefault("trickle", "2000"));
+        int size = Integer.parseInt(options.getOrDefault("size", "65536"));
+        String probe = options.getOrDefault("probe", "/api/badges");
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "load-test-io");
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+        byte[] body = multipartBody(size);
+        URI uploadUri = URI.create(url + "/api/public/upload");
+        URI probeUri = URI.create(url + probe);
+
+        Recorder uploads = new Recorder();
+        Recorder probes = new Recorder();
+        long deadline = System.nanoTime() + durationNanos;
+        CountDownLatch done = new CountDownLatch(clients + 1);
+
+        System.out.printf("%d slow clients, %d byte uploads trickled over %d ms, for %d s against %s%n",
+                clients, body.length, trickleMillis, TimeUnit.NANOSECONDS.toSeconds(durationNanos), url);
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            Thread client = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(uploadUri)
+                                .timeout(Duration.ofMinutes(2))
+                                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                                .POST(trickled(body, trickleMillis))
+                                .build();
+                        uploads.time(() -> http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "slow-client-" + i);
+            client.setDaemon(true);
+            client.start();
+            // Ramp up over about a second instead of opening every connection at once
+            Thread.sleep(Math.max(0, 1000 / clients));
+        }
+        Thread prober = new Thread(() -> {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(probeUri).timeout(Duration.ofMinutes(2)).GET().build();
+                while (System.nanoTime() < deadline) {
+                    probes.time(() -> http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                    sleep(100);
+                }
+            } finally {
+                done.countDown();
+            }
+        }, "probe");
+        prober.setDaemon(true);
+        prober.start();
+
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        uploads.print("uploads", seconds);
+        probes.print("probe " + probe, seconds);
+    }
+
+    // Hands out the body in equal chunks spread over the trickle time. The client reads it on
+    // its executor's threads, so the sleeps never hold up its selector
+    private static HttpRequest.BodyPublisher trickled(byte[] body, long trickleMillis) {
+        int chunkSize = (body.length + TRICKLE_CHUNKS - 1) / TRICKLE_CHUNKS;
+        HttpRequest.BodyPublisher stream = HttpRequest.BodyPublishers.ofInputStream(() -> new InputStream() {
+            private int offset;
+
+            @Override
+            public int read() {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) {
+                if (offset == body.length) {
+                    return -1;
+                }
+                if (offset > 0 && offset % chunkSize == 0) {
+                    sleep(trickleMillis / TRICKLE_CHUNKS);
+                }
+                int count = Math.min(len, Math.min(chunkSize - offset % chunkSize, body.length - offset));
+                System.arraycopy(body, offset, buffer, off, count);
+                offset += count;
+                return count;
+            }
+        });
+        return HttpRequest.BodyPublishers.fromPublisher(stream, body.length);
+    }
+
+    private static byte[] multipartBody(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        byte[] head = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load-test.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] body = Arrays.copyOf(head, head.length + content.length + tail.length);
+        System.arraycopy(content, 0, body, head.length, content.length);
+        System.arraycopy(tail, 0, body, head.length + content.length, tail.length);
+        return body;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Call {
+        int statusCode() throws Exception;
+    }
+
+    // Latencies of successful calls; anything but a 2xx, or no response at all, is an error
+    private static final class Recorder {
+
+        private final List<long[]> batches = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final ThreadLocal<long[]> current = new ThreadLocal<>();
+        private final ThreadLocal<int[]> position = ThreadLocal.withInitial(() -> new int[1]);
+
+        void time(Call call) {
+            long start = System.nanoTime();
+            try {
+                int status = call.statusCode();
+                if (status / 100 != 2) {
+                    errors.incrementAndGet();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.incrementAndGet();
+                return;
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                return;
+            }
+            record(System.nanoTime() - start);
+        }
+
+        private void record(long nanos) {
+            long[] batch = current.get();
+            int[] at = position.get();
+            if (batch == null || at[0] == batch.length) {
+                batch = new long[1024];
+                at[0] = 0;
+                current.set(batch);
+                synchronized (batches) {
+                    batches.add(batch);
+                }
+            }
+            // Unused slots stay 0 and are skipped when the batches are merged
+            batch[at[0]++] = nanos;
+        }
+
+        void print(String label, double seconds) {
+            long[] all;
+            synchronized (batches) {
+                all = batches.stream().flatMapToLong(Arrays::stream).filter(nanos -> nanos > 0).toArray();
+            }
+            Arrays.sort(all);
+            System.out.printf("%-24s %8d ok %6d errors %9.1f req/s   p50 %8.1f ms  p99 %8.1f ms  p99.9 %8.1f ms  max %8.1f ms%n",
+                    label, all.length, errors.get(), all.length / seconds,
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                    all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.redweb.benchmarks;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generators for benchmark inputs. A fixed seed keeps runs comparable between commits.
+ */
+public final class SyntheticData {
+
+    public static final long SEED = 20240501L;
+    public static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    // Approximate population share of each blood type, in BloodType ordinal order
+    private static final double[] BLOOD_TYPE_WEIGHTS = {0.07, 0.37, 0.06, 0.36, 0.02, 0.08, 0.01, 0.03};
+
+    private SyntheticData() {
+    }
+
+    public static BloodType[] bloodTypes(int count) {
+        Random random = new Random(SEED);
+        BloodType[] values = BloodType.values();
+        BloodType[] result = new BloodType[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = values[weightedIndex(random)];
+        }
+        return result;
+    }
+
+    // Fully populated rows, as an eager load of every association used to hand them to Jackson
+    public static List<User> users(int count, User.UserRole role) {
+        Random random = new Random(SEED + role.ordinal());
+        BloodType[] types = bloodTypes(count);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail(role.name().toLowerCase() + i + "@redweb.test");
+            user.setPassword("$2a$10$" + "x".repeat(53));
+            user.setPhone(String.format("07%09d", i));
+            user.setBloodType(types[i]);
+            user.setRole(role);
+            user.setPoints(random.nextInt(2000));
+            user.setLatitude(6.9 + random.nextDouble());
+            user.setLongitude(79.8 + random.nextDouble());
+            user.setEmergencyOptIn(random.nextBoolean());
+            user.setCreatedAt(BASE_TIME.minusDays(random.nextInt(365)));
+            user.setUpdatedAt(BASE_TIME);
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static List<DonationDrive> drives(int count, List<User> organizers) {
+        Random random = new Random(SEED + 1);
+        List<DonationDrive> drives = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DonationDrive drive = new DonationDrive();
+            drive.setId((long) i + 1);
+            drive.setOrganizer(organizers.get(i % organizers.size()));
+            drive.setTitle("Community drive " + i);
+            drive.setDescription("Blood donation drive at the community hall, bring a valid ID");
+            drive.setLatitude(6.9 + random.nextDouble());
+            drive.setLongitude(79.8 + random.nextDouble());
+            drive.setStartDate(BASE_TIME.plusDays(i % 30));
+            drive.setEndDate(BASE_TIME.plusDays(i % 30).plusHours(8));
+            drive.setRequiredBloodTypes(new ArrayList<>(List.of("O+", "O-", "A+", "B+")));
+            drive.setMaxCapacity(200);
+            drive.setCurrentDonors(random.nextInt(200));
+            drive.setStatus(DonationDrive.DriveStatus.ACTIVE);
+            drive.setCreatedAt(BASE_TIME.minusDays(30));
+            drive.setUpdatedAt(BASE_TIME);
+            drives.add(drive);
+        }
+        return drives;
+    }
+
+    public static List<EmergencyRequest> emergencyRequests(int count, List<User> patients) {
+        Random random = new Random(SEED + 2);
+        BloodType[] types = bloodTypes(count);
+        EmergencyRequest.UrgencyLevel[] levels = EmergencyRequest.UrgencyLevel.values();
+        List<EmergencyRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EmergencyRequest request = new EmergencyRequest();
+            request.setId((long) i + 1);
+            request.setPatient(patients.get(i % patients.size()));
+            request.setBloodType(types[i]);
+            request.setUnitsNeeded(1 + random.nextInt(6));
+            request.setUnitsCollected((double) random.nextInt(3));
+            request.setLatitude(6.9 + random.nextDouble());
+            request.setLongitude(79.8 + random.nextDouble());
+            request.setStatus(EmergencyRequest.RequestStatus.ACTIVE);
+            request.setUrgencyLevel(levels[random.nextInt(levels.length)]);
+            request.setNotes("Needed at the general hospital, ward " + i % 40);
+            request.setCreatedAt(BASE_TIME.minusMinutes(i));
+            request.setUpdatedAt(BASE_TIME);
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    // Alternately at a drive and for an emergency request
+    public static List<Donation> donations(int count, List<User> donors, List<DonationDrive> drives,
+                                           List<EmergencyRequest> requests) {
+        List<Donation> donations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User donor = donors.get(i % donors.size());
+            Donation donation = new Donation();
+            donation.setId((long) i + 1);
+            donation.setDonor(donor);
+            if (i % 2 == 0) {
+                donation.setDrive(drives.get(i % drives.size()));
+            } else {
+                donation.setEmergencyRequest(requests.get(i % requests.size()));
+            }
+            donation.setDonationDate(BASE_TIME.minusHours(i));
+            donation.setBloodType(donor.getBloodType());
+            donation.setUnits(1);
+            donation.setPointsAwarded(100);
+            donation.setStatus(Donation.DonationStatus.COMPLETED);
+            donation.setCreatedAt(BASE_TIME.minusHours(i));
+            donation.setUpdatedAt(BASE_TIME);
+            donations.add(donation);
+        }
+        return donations;
+    }
+
+    private static int weightedIndex(Random random) {
+        double roll = random.nextDouble();
+        double cumulative = 0;
+        for (int i = 0; i < BLOOD_TYPE_WEIGHTS.length; i++) {
+            cumulative += BLOOD_TYPE_WEIGHTS[i];
+            if (roll < cumulative) {
+                return i;
+            }
+        }
+        return BLOOD_TYPE_WEIGHTS.length - 1;
+    }
+}
@@ -0,0 +1,195 @@
+package com.redweb.benchmarks;
+
+import com.redweb.backend.BackendApplication;
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.HealthRecord;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.DonationDriveRepository;
+import com.redweb.backend.repository.EmergencyRequestRepository;
+import com.redweb.backend.repository.HealthRecordRepository;
+import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.service.DonationService;
+import com.redweb.backend.service.EmergencyRequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The donation and emergency write paths through the real services against MySQL, with the
+ * connection pool and driver at their defaults and with the prod profile (fixed pool, server
+ * side prepared statement cache, batch rewriting). Both runs have SQL echo and debug logging
+ * off, so only the pool and JDBC settings differ. Each thread donates as its own donor to its
+ * own emergency request; drive donations all take slots on one drive, as they would during a
+ * real drive.
+ *
+ * Needs a scratch MySQL database; the schema is migrated on startup and rows are left behind:
+ * <pre>
+ * java -Dredweb.benchmark.jdbcUrl=jdbc:mysql://localhost:3306/redweb_bench?createDatabaseIfNotExist=true \
+ *      -Dredweb.benchmark.username=root -Dredweb.benchmark.password= -jar target/benchmarks.jar WritePath
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class WritePathBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"default", "prod"})
+        public String profile;
+
+        ConfigurableApplicationContext context;
+        DonationService donationService;
+        EmergencyRequestService emergencyRequestService;
+        User patient;
+        DonationDrive drive;
+
+        @Setup(Level.Trial)
+        public void start() {
+            String jdbcUrl = System.getProperty("redweb.benchmark.jdbcUrl");
+            if (jdbcUrl == null) {
+                throw new IllegalStateException("Set -Dredweb.benchmark.jdbcUrl to a scratch MySQL database");
+            }
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(BackendApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=" + jdbcUrl,
+                            "spring.datasource.username=" + System.getProperty("redweb.benchmark.username", "root"),
+                            "spring.datasource.password=" + System.getProperty("redweb.benchmark.password", ""),
+                            "spring.jpa.show-sql=false",
+                            "logging.level.root=WARN",
+                            "app.jwtSecret=redWebBenchmarkSecretKey1234567890123456789012",
+                            "app.jwtExpirationMs=3600000",
+                            "app.badges.reevaluationCron=-");
+            if (!profile.equals("default")) {
+                builder.profiles(profile);
+            }
+            context = builder.run();
+            donationService = context.getBean(DonationService.class);
+            emergencyRequestService = context.getBean(EmergencyRequestService.class);
+
+            patient = context.getBean(UserRepository.class).save(user(User.UserRole.PATIENT));
+            DonationDrive newDrive = new DonationDrive();
+            newDrive.setOrganizer(patient);
+            newDrive.setTitle("Benchmark drive");
+            newDrive.setDescription("Write path benchmark");
+            newDrive.setStartDate(LocalDateTime.now().minusDays(1));
+            newDrive.setEndDate(LocalDateTime.now().plusDays(30));
+            newDrive.setRequiredBloodTypes(List.of("O+"));
+            newDrive.setMaxCapacity(Integer.MAX_VALUE);
+            newDrive.setCurrentDonors(0);
+            newDrive.setStatus(DonationDrive.DriveStatus.ACTIVE);
+            drive = context.getBean(DonationDriveRepository.class).save(newDrive);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        User user(User.UserRole role) {
+            User user = new User();
+            user.setFirstName("Bench");
+            user.setLastName(role.name());
+            user.setEmail("bench-" + System.nanoTime() + "-" + Thread.currentThread().getId() + "@redweb.test");
+            user.setPassword("x");
+            user.setPhone("0000000000");
+            user.setBloodType(BloodType.O_POSITIVE);
+            user.setRole(role);
+            user.setPoints(0);
+            user.setCreatedAt(LocalDateTime.now());
+            user.setUpdatedAt(LocalDateTime.now());
+            return user;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Donor {
+
+        Long donorId;
+        Long requestId;
+
+        @Setup(Level.Trial)
+        public void setUp(Application application) {
+            User donor = application.context.getBean(UserRepository.class).save(application.user(User.UserRole.DONOR));
+            HealthRecord record = new HealthRecord();
+            record.setUser(donor);
+            record.setLastDonationDate(LocalDate.now().minusMonths(4));
+            record.setNextEligibleDate(LocalDate.now());
+            record.setMedicalConditions("");
+            record.setMedications("");
+            record.setMedicalNotes("");
+            record.setCreatedAt(LocalDateTime.now());
+            record.setUpdatedAt(LocalDateTime.now());
+            application.context.getBean(HealthRecordRepository.class).save(record);
+            donorId = donor.getId();
+            // Never fulfilled, so every donation goes through the full emergency path
+            requestId = application.context.getBean(EmergencyRequestRepository.class)
+                    .save(request(application.patient, Integer.MAX_VALUE)).getId();
+        }
+    }
+
+    @Benchmark
+    public Donation emergencyDonation(Application application, Donor donor) {
+        return application.donationService.createEmergencyDonation(donor.donorId, donor.requestId, donation());
+    }
+
+    @Benchmark
+    public Donation driveDonation(Application application, Donor donor) {
+        return application.donationService.createDriveDonation(donor.donorId, application.drive.getId(), donation());
+    }
+
+    @Benchmark
+    public EmergencyRequest emergencyRequest(Application application) {
+        return application.emergencyRequestService.createEmergencyRequest(application.patient.getId(),
+                request(null, 2));
+    }
+
+    private static Donation donation() {
+        Donation donation = new Donation();
+        donation.setBloodType(BloodType.O_POSITIVE);
+        donation.setUnits(1);
+        return donation;
+    }
+
+    private static EmergencyRequest request(User patient, int unitsNeeded) {
+        EmergencyRequest request = new EmergencyRequest();
+        request.setPatient(patient);
+        request.setBloodType(BloodType.O_POSITIVE);
+        request.setUnitsNeeded(unitsNeeded);
+        request.setLatitude(6.9);
+        request.setLongitude(79.8);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.HIGH);
+        request.setStatus(EmergencyRequest.RequestStatus.ACTIVE);
+        request.setUnitsCollected(0.0);
+        request.setCreatedAt(LocalDateTime.now());
+        request.setUpdatedAt(LocalDateTime.now());
+        return request;
+    }
+}
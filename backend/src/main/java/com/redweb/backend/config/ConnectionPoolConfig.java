@@ -0,0 +1,23 @@
+package com.redweb.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Slow statement logging. Statements Hibernate runs for longer than app.db.slowStatementMs
+ * are logged by org.hibernate.SQL_SLOW, and queries whose slowest execution crossed it are
+ * listed at /api/admin/db-stats. Connection pool metrics are the actuator's hikaricp_*
+ * meters. Pool sizing and the MySQL driver settings live in the prod profile
+ * (application-prod.properties).
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer slowStatementLogging(@Value("${app.db.slowStatementMs:500}") long thresholdMs) {
+        return properties -> properties.putIfAbsent(AvailableSettings.LOG_SLOW_QUERY, String.valueOf(thresholdMs));
+    }
+}
@@ -1,8 +1,11 @@
 package com.redweb.backend.config;
 
 import com.redweb.backend.model.Badge;
+import com.redweb.backend.model.BloodType;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.BadgeRepository;
+import com.redweb.backend.repository.PointsLedgerRepository;
+import com.redweb.backend.service.BadgeThresholds;
 import com.redweb.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -20,6 +23,12 @@ public class DatabaseInitializer implements CommandLineRunner {
     @Autowired
     private BadgeRepository badgeRepository;
     
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+    
+    @Autowired
+    private BadgeThresholds badgeThresholds;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -28,10 +37,13 @@ public class DatabaseInitializer implements CommandLineRunner {
         // Check if we need to initialize the database
         if (userRepository.count() == 0) {
             initializeUsers();
+            // Seeded balances need a ledger entry like any other
+            pointsLedgerRepository.insertOpeningBalances();
         }
         
         if (badgeRepository.count() == 0) {
             initializeBadges();
+            badgeThresholds.refresh();
         }
     }
     
@@ -43,12 +55,12 @@ public class DatabaseInitializer implements CommandLineRunner {
         admin.setEmail("admin@redweb.com");
         admin.setPassword(passwordEncoder.encode("admin123"));
         admin.setPhone("1234567890");
-        admin.setBloodType("O+");
+        admin.setBloodType(BloodType.O_POSITIVE);
         admin.setLatitude(1.3521);
         admin.setLongitude(103.8198);
         admin.setRole(User.UserRole.ADMIN);
         admin.setEmergencyOptIn(false);
-        admin.setPoints("1000");
+        admin.setPoints(1000);
         admin.setCreatedAt(LocalDateTime.now());
         admin.setUpdatedAt(LocalDateTime.now());
         userRepository.save(admin);
@@ -60,12 +72,12 @@ public class DatabaseInitializer implements CommandLineRunner {
         donor.setEmail("donor@redweb.com");
         donor.setPassword(passwordEncoder.encode("donor123"));
         donor.setPhone("2345678901");
-        donor.setBloodType("A+");
+        donor.setBloodType(BloodType.A_POSITIVE);
         donor.setLatitude(1.3521);
         donor.setLongitude(103.8198);
         donor.setRole(User.UserRole.DONOR);
         donor.setEmergencyOptIn(true);
-        donor.setPoints("100");
+        donor.setPoints(100);
         donor.setCreatedAt(LocalDateTime.now());
         donor.setUpdatedAt(LocalDateTime.now());
         userRepository.save(donor);
@@ -77,12 +89,12 @@ public class DatabaseInitializer implements CommandLineRunner {
         patient.setEmail("patient@redweb.com");
         patient.setPassword(passwordEncoder.encode("patient123"));
         patient.setPhone("3456789012");
-        patient.setBloodType("B+");
+        patient.setBloodType(BloodType.B_POSITIVE);
         patient.setLatitude(1.3521);
         patient.setLongitude(103.8198);
         patient.setRole(User.UserRole.PATIENT);
         patient.setEmergencyOptIn(false);
-        patient.setPoints("0");
+        patient.setPoints(0);
         patient.setCreatedAt(LocalDateTime.now());
         patient.setUpdatedAt(LocalDateTime.now());
         userRepository.save(patient);
@@ -0,0 +1,23 @@
+package com.redweb.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Schema changes are versioned migrations under db/migration. V1 is the schema that
+ * ddl-auto=update produced from the original entities, so a database created that way is
+ * marked as being at version 1 on its first migrate instead of being refused for having
+ * no history table, and only the later migrations run against it. Set spring.flyway.baseline-on-migrate
+ * to false to turn that off.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema(
+            @Value("${spring.flyway.baseline-on-migrate:true}") boolean baselineOnMigrate) {
+        return configuration -> configuration.baselineOnMigrate(baselineOnMigrate).baselineVersion("1");
+    }
+}
@@ -0,0 +1,21 @@
+package com.redweb.backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer meters beyond what the actuator binds on its own (JVM, Tomcat, Hikari, Hibernate
+ * statistics, HTTP requests). Services annotated with @Timed get a redweb.service timer per
+ * method; the password hashing pool records its own meters (see BoundedPasswordEncoder).
+ * Everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
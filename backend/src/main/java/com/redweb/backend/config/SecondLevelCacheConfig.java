@@ -0,0 +1,93 @@
+package com.redweb.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache, kept in Caffeine through JCache. Every region is
+ * declared here with its own size bound and time to live; Hibernate is told to fail rather
+ * than quietly create an unbounded cache for a region that is missing from this list.
+ *
+ * Entries are evicted on writes made through Hibernate. Writes that bypass it (the points
+ * and drive counter increments) evict the rows they touch through EntityCacheEvictor, and
+ * native statements name the tables they write. Statistics
+ * are on so hits and misses per region can be read from /api/admin/cache-stats.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String BADGES = "badges";
+    public static final String BADGE_QUERIES = "badge-queries";
+    public static final String DONATION_DRIVES = "donation-drives";
+    public static final String DONATION_DRIVE_BLOOD_TYPES = "donation-drives.requiredBloodTypes";
+    public static final String USERS = "users";
+    public static final String USER_BY_EMAIL = "user-by-email";
+    public static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<String> ENTITY_REGIONS = List.of(BADGES, DONATION_DRIVES, DONATION_DRIVE_BLOOD_TYPES, USERS);
+    public static final List<String> QUERY_REGIONS = List.of(BADGE_QUERIES, USER_BY_EMAIL, DEFAULT_QUERY_RESULTS);
+
+    // One provider per application context, so test contexts never share or close each other's caches
+    @Bean(destroyMethod = "close")
+    public CachingProvider secondLevelCachingProvider() {
+        return new CaffeineCachingProvider();
+    }
+
+    @Bean
+    public CacheManager secondLevelCacheManager(CachingProvider secondLevelCachingProvider,
+                                                @Value("${app.cache.badges.ttl:PT1H}") Duration badgesTtl,
+                                                @Value("${app.cache.badges.maxEntries:1000}") long badgesMaxEntries,
+                                                @Value("${app.cache.drives.ttl:PT10M}") Duration drivesTtl,
+                                                @Value("${app.cache.drives.maxEntries:10000}") long drivesMaxEntries,
+                                                @Value("${app.cache.users.ttl:PT10M}") Duration usersTtl,
+                                                @Value("${app.cache.users.maxEntries:50000}") long usersMaxEntries) {
+        CacheManager cacheManager = secondLevelCachingProvider.getCacheManager(
+                secondLevelCachingProvider.getDefaultURI(), getClass().getClassLoader());
+        createRegion(cacheManager, BADGES, badgesTtl, badgesMaxEntries);
+        createRegion(cacheManager, BADGE_QUERIES, badgesTtl, badgesMaxEntries);
+        createRegion(cacheManager, DONATION_DRIVES, drivesTtl, drivesMaxEntries);
+        createRegion(cacheManager, DONATION_DRIVE_BLOOD_TYPES, drivesTtl, drivesMaxEntries);
+        createRegion(cacheManager, USERS, usersTtl, usersMaxEntries);
+        createRegion(cacheManager, USER_BY_EMAIL, usersTtl, usersMaxEntries);
+        createRegion(cacheManager, DEFAULT_QUERY_RESULTS, drivesTtl, drivesMaxEntries);
+        // One entry per table; it must outlive every query result it validates
+        createRegion(cacheManager, UPDATE_TIMESTAMPS, null, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.cache.use_second_level_cache", "true");
+            properties.putIfAbsent("hibernate.cache.use_query_cache", "true");
+            properties.putIfAbsent("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", secondLevelCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.putIfAbsent("hibernate.generate_statistics", "true");
+            // Statistics without the per-session summary Hibernate otherwise logs at INFO
+            properties.putIfAbsent("hibernate.session.events.log", "false");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, Duration ttl, long maxEntries) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -1,8 +1,11 @@
 package com.redweb.backend.config;
 
+import com.redweb.backend.security.BoundedPasswordEncoder;
 import com.redweb.backend.security.JwtAuthenticationEntryPoint;
 import com.redweb.backend.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,7 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 // Removed unused import: import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -35,9 +37,18 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter();
     }
 
+    /**
+     * BCrypt on a bounded worker pool (see BoundedPasswordEncoder). Raising the strength takes
+     * effect for existing users at their next login, when their password is re-hashed.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${app.auth.bcrypt.strength:10}") int strength,
+                                                  @Value("${app.auth.bcrypt.threads:0}") int threads,
+                                                  @Value("${app.auth.bcrypt.queueSize:0}") int queueSize,
+                                                  MeterRegistry meterRegistry) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), workers,
+                queueSize > 0 ? queueSize : workers * 4, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,39 @@
+package com.redweb.backend.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The threads that write Server-Sent Events, shared by EmergencyAlertBroadcaster and
+ * ResponderLocationTracker (see StreamingConfig). Deliberately not an Executor bean itself:
+ * Spring Boot only creates its applicationTaskExecutor when no Executor bean exists.
+ */
+public final class SseSenders implements AutoCloseable {
+
+    private final Executor executor;
+
+    public SseSenders(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Hands the task to a sender, or returns false if every sender is busy and the backlog
+     * is full. Callers then close the subscription, as they do when its own queue overflows.
+     */
+    public boolean tryExecute(Runnable task) {
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+}
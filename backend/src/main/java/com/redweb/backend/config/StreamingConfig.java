@@ -0,0 +1,44 @@
+package com.redweb.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads that write Server-Sent Events for EmergencyAlertBroadcaster and
+ * ResponderLocationTracker. SseEmitter.send blocks until the client takes the bytes, so a
+ * phone on a dead connection holds its sender until the stream's write timeout closes it.
+ * The pool starts a thread per write in flight up to app.sse.senderThreads, then queues up
+ * to app.sse.senderQueue writes; past that a subscription that needs a sender is closed,
+ * the same as one whose own queue overflows, and the client reconnects later.
+ * With app.threads.virtual=true each write gets its own virtual thread, like requests do
+ * (see VirtualThreadsConfig).
+ */
+@Configuration
+public class StreamingConfig {
+
+    @Bean
+    public SseSenders sseSenders(@Value("${app.threads.virtual:false}") boolean virtualThreads,
+                                 @Value("${app.sse.senderThreads:200}") int senderThreads,
+                                 @Value("${app.sse.senderQueue:1000}") int senderQueue) {
+        if (virtualThreads) {
+            return new SseSenders(VirtualThreadsConfig.threadPerTask(
+                    VirtualThreadsConfig.virtualThreadFactory("sse-vt-")));
+        }
+        AtomicInteger threadIds = new AtomicInteger();
+        // Core size equal to the maximum, so threads are added before writes are queued
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(senderQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "sse-sender-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return new SseSenders(pool);
+    }
+}
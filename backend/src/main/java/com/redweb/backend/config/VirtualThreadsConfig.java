@@ -0,0 +1,95 @@
+package com.redweb.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Opt-in mode (app.threads.virtual=true) that runs requests, @Async tasks and scheduled
+ * jobs on virtual threads. A request blocked on MySQL or on a slowly arriving upload then
+ * parks its virtual thread instead of holding one of Tomcat's 200 platform threads, so
+ * slow clients no longer queue fast ones behind them. It needs a Java 21 runtime; on an
+ * older one startup fails instead of quietly keeping the platform pool.
+ *
+ * Without the thread limit, the connection pool is what bounds concurrent database work,
+ * and requests wait for a connection rather than for a thread. Unless
+ * spring.datasource.hikari.maximum-pool-size is set, the pool is given a fixed
+ * app.threads.virtual.dbPoolSize connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    private static final int DEFAULT_DB_POOL_SIZE = 20;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequests() {
+        return protocolHandler -> protocolHandler.setExecutor(threadPerTask(virtualThreadFactory("http-vt-")));
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                  AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(threadPerTask(virtualThreadFactory("task-vt-")));
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(Environment environment) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(environment.getProperty("spring.task.scheduling.pool.size", Integer.class, 1));
+        scheduler.setThreadFactory(virtualThreadFactory("scheduling-vt-"));
+        return scheduler;
+    }
+
+    // Static so it is registered before the data source it post-processes
+    @Bean
+    public static BeanPostProcessor virtualThreadPoolSizing(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int size = environment.getProperty("app.threads.virtual.dbPoolSize", Integer.class,
+                            DEFAULT_DB_POOL_SIZE);
+                    dataSource.setMaximumPoolSize(size);
+                    dataSource.setMinimumIdle(size);
+                    logger.info("Virtual threads enabled, connection pool fixed at {} connections", size);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static Executor threadPerTask(ThreadFactory threadFactory) {
+        return task -> threadFactory.newThread(task).start();
+    }
+
+    // Thread.ofVirtual().name(prefix, 0).factory(), looked up reflectively so the build stays on Java 17
+    static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual needs Java 21 or later, but this is Java "
+                    + Runtime.version(), e);
+        }
+    }
+}
@@ -10,13 +10,19 @@ import com.redweb.backend.model.User;
 import com.redweb.backend.repository.HealthRecordRepository;
 import com.redweb.backend.repository.UserRepository;
 import com.redweb.backend.security.JwtTokenProvider;
+import com.redweb.backend.security.TokenRevocationList;
+import com.redweb.backend.service.DonorSpatialIndex;
+import com.redweb.backend.service.Leaderboard;
+import com.redweb.backend.service.FileStorageService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -26,20 +32,19 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 
 // Removed unused import: import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -62,6 +67,18 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private DonorSpatialIndex donorSpatialIndex;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -82,6 +99,21 @@ public class AuthController {
                 user.getRole().name(), user.getFirstName(), user.getLastName()));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = tokenProvider.parseClaims(authorization.substring(7));
+            if (claims != null) {
+                tokenRevocationList.revokeToken(claims.getId(), Long.parseLong(claims.getSubject()),
+                        claims.getExpiration().getTime());
+            }
+        }
+
+        Map<String, String> response = new HashMap<>();
+        response.put("success", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/register/donor")
     public ResponseEntity<?> registerDonor(@Valid @RequestBody DonorRegistrationRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -102,11 +134,13 @@ public class AuthController {
         user.setLongitude(request.getLongitude());
         user.setRole(User.UserRole.DONOR);
         user.setEmergencyOptIn(request.isEmergencyOptIn());
-        user.setPoints("0");
+        user.setPoints(0);
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        donorSpatialIndex.update(savedUser);
+        leaderboard.update(savedUser);
 
         // Create initial health record for the donor
         HealthRecord healthRecord = new HealthRecord();
@@ -151,6 +185,8 @@ public class AuthController {
         
         // Save the user
         User savedUser = userRepository.save(user);
+        donorSpatialIndex.update(savedUser);
+        leaderboard.update(savedUser);
         
         // Create a basic health record for tracking purposes
         HealthRecord healthRecord = new HealthRecord();
@@ -174,8 +210,20 @@ public class AuthController {
 
     @PostMapping(value = "/register/patient")
     public ResponseEntity<?> registerPatient(@Valid @RequestBody PatientRegistrationRequest request) {
+        return createPatient(request, null);
+    }
+
+    // Registration fields as a JSON "patient" part, the document streamed as a file part
+    @PostMapping(value = "/register/patient", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> registerPatientMultipart(
+            @Valid @RequestPart("patient") PatientRegistrationRequest request,
+            @RequestPart(value = "verificationDocument", required = false) MultipartFile document) {
+        return createPatient(request, document);
+    }
+
+    private ResponseEntity<?> createPatient(PatientRegistrationRequest request, MultipartFile document) {
         // Log the registration attempt
-        logger.info("Received patient registration request for email: " + request.getEmail());
+        logger.info("Received patient registration request for email: {}", request.getEmail());
         if (userRepository.existsByEmail(request.getEmail())) {
             Map<String, String> response = new HashMap<>();
             response.put("error", "Email is already taken");
@@ -195,7 +243,7 @@ public class AuthController {
         user.setHospitalLocation(request.getHospitalLocation());
         user.setRole(User.UserRole.PATIENT);
         user.setEmergencyOptIn(false); // Patients don't opt-in for emergency donations
-        user.setPoints("0");
+        user.setPoints(0);
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
@@ -213,58 +261,18 @@ public class AuthController {
         healthRecord.setUpdatedAt(LocalDateTime.now());
         
         // Handle verification document (make it optional)
-        String documentPath = null;
+        String documentPath;
         try {
-            // Process the Base64-encoded verification document if provided
-            if (request.getVerificationDocumentBase64() != null && !request.getVerificationDocumentBase64().isEmpty()) {
-                logger.info("Processing verification document with filename: " + request.getVerificationDocumentFilename());
-                
-                try {
-                    // Decode the Base64 string to binary data
-                    String base64Data = request.getVerificationDocumentBase64();
-                    // Remove the data:image/xyz;base64, prefix if present
-                    if (base64Data.contains(",")) {
-                        base64Data = base64Data.split(",")[1];
-                    }
-                    byte[] fileData = java.util.Base64.getDecoder().decode(base64Data);
-                    
-                    // Create a unique filename
-                    String originalFilename = request.getVerificationDocumentFilename();
-                    String fileExtension = "";
-                    if (originalFilename != null && originalFilename.contains(".")) {
-                        fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                    }
-                    String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-                    
-                    // Create directory if it doesn't exist
-                    String uploadDir = "uploads/verification";
-                    Path uploadPath = Paths.get(uploadDir);
-                    if (!Files.exists(uploadPath)) {
-                        Files.createDirectories(uploadPath);
-                    }
-                    
-                    // Save the file
-                    Path filePath = uploadPath.resolve(uniqueFilename);
-                    Files.write(filePath, fileData);
-                    
-                    // Set the document path
-                    documentPath = uploadDir + "/" + uniqueFilename;
-                    logger.info("Successfully saved verification document to: " + documentPath);
-                    
-                } catch (Exception e) {
-                    // Log the error but continue - make this non-blocking
-                    logger.error("Error processing verification document: " + e.getMessage(), e);
-                    documentPath = "Error saving document: " + e.getMessage();
-                }
-            } else {
-                logger.info("No verification document provided in the request");
-                documentPath = "No document provided";
-            }
+            FileStorageService.StoredFile stored = fileStorageService.storeDocument(document,
+                    request.getVerificationDocumentBase64(), request.getVerificationDocumentFilename());
+            documentPath = stored != null ? stored.filename() : "No document provided";
         } catch (Exception e) {
-            // Catch any unexpected errors but don't fail registration
-            logger.error("Unexpected error handling document: " + e.getMessage(), e);
-            documentPath = "Error in document processing";
+            // Log the error but continue - make this non-blocking
+            logger.error("Error processing verification document: {}", e.getMessage(), e);
+            documentPath = "Error saving document: " + e.getMessage();
         }
+        // The Base64 payload can be several MB; let it go before the database work
+        request.setVerificationDocumentBase64(null);
         
         healthRecord.setMedicalNotes(healthRecord.getMedicalNotes() + "\nMedical verification document: " + documentPath);
         
@@ -1,5 +1,8 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.dto.summary.UserBadgeSummary;
 import com.redweb.backend.model.Badge;
 import com.redweb.backend.model.UserBadge;
 import com.redweb.backend.service.BadgeService;
@@ -36,13 +39,16 @@ public class BadgeController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<UserBadge> getUserBadges(@PathVariable Long userId) {
+    public List<UserBadgeSummary> getUserBadges(@PathVariable Long userId) {
         return badgeService.getUserBadges(userId);
     }
 
     @GetMapping("/badge/{badgeId}/users")
-    public List<UserBadge> getUsersByBadge(@PathVariable Long badgeId) {
-        return badgeService.getUsersByBadge(badgeId);
+    public CursorPage<UserBadgeSummary> getUsersByBadge(
+            @PathVariable Long badgeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size) {
+        return badgeService.getUsersByBadge(badgeId, cursor, size);
     }
 
     @PostMapping
@@ -78,9 +84,10 @@ public class BadgeController {
 
     @PostMapping("/check-and-award/{userId}")
     public ResponseEntity<?> checkAndAwardBadges(@PathVariable Long userId) {
-        badgeService.checkAndAwardBadges(userId);
-        Map<String, String> response = new HashMap<>();
+        int awarded = badgeService.checkAndAwardBadges(userId);
+        Map<String, Object> response = new HashMap<>();
         response.put("message", "Badges checked and awarded if eligible");
+        response.put("awarded", awarded);
         return ResponseEntity.ok(response);
     }
 
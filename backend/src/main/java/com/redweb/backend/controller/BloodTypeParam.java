@@ -0,0 +1,20 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.model.BloodType;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Reads a blood type from a path or query parameter; an unknown label is a bad request, not a server error
+final class BloodTypeParam {
+
+    private BloodTypeParam() {
+    }
+
+    static BloodType parse(String label) {
+        try {
+            return BloodType.fromLabel(label);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.redweb.backend.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/db-stats")
+public class DatabaseStatsController {
+
+    private static final int MAX_SLOW_QUERIES = 20;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.db.slowStatementMs:500}")
+    private long slowStatementMs;
+
+    // The queries that ran slower than the threshold. Pool load and connection waits are the
+    // hikaricp_* meters at /actuator/prometheus; Micrometer has no per-query view to match this.
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getDatabaseStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("slowStatementMs", slowStatementMs);
+        response.put("slowQueries", slowQueries(statistics));
+        return response;
+    }
+
+    private List<SlowQuery> slowQueries(Statistics statistics) {
+        List<SlowQuery> slow = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (slowStatementMs > 0 && queryStatistics.getExecutionMaxTime() >= slowStatementMs) {
+                slow.add(new SlowQuery(query, queryStatistics.getExecutionCount(),
+                        queryStatistics.getExecutionAvgTime(), queryStatistics.getExecutionMaxTime()));
+            }
+        }
+        slow.sort(Comparator.comparingLong(SlowQuery::maxMs).reversed());
+        return slow.size() > MAX_SLOW_QUERIES ? slow.subList(0, MAX_SLOW_QUERIES) : slow;
+    }
+
+    record SlowQuery(String query, long executions, long meanMs, long maxMs) {
+    }
+}
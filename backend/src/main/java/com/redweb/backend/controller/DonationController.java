@@ -1,5 +1,8 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.dto.summary.DonationSummary;
 import com.redweb.backend.model.Donation;
 import com.redweb.backend.service.DonationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,8 +22,10 @@ public class DonationController {
     private DonationService donationService;
 
     @GetMapping
-    public List<Donation> getAllDonations() {
-        return donationService.getAllDonations();
+    public CursorPage<DonationSummary> getAllDonations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size) {
+        return donationService.getDonationsPage(cursor, size);
     }
 
     @GetMapping("/{id}")
@@ -29,29 +34,29 @@ public class DonationController {
     }
 
     @GetMapping("/donor/{donorId}")
-    public List<Donation> getDonationsByDonor(@PathVariable Long donorId) {
+    public List<DonationSummary> getDonationsByDonor(@PathVariable Long donorId) {
         return donationService.getDonationsByDonor(donorId);
     }
 
     @GetMapping("/drive/{driveId}")
-    public List<Donation> getDonationsByDrive(@PathVariable Long driveId) {
+    public List<DonationSummary> getDonationsByDrive(@PathVariable Long driveId) {
         return donationService.getDonationsByDrive(driveId);
     }
 
     @GetMapping("/emergency-request/{requestId}")
-    public List<Donation> getDonationsByEmergencyRequest(@PathVariable Long requestId) {
+    public List<DonationSummary> getDonationsByEmergencyRequest(@PathVariable Long requestId) {
         return donationService.getDonationsByEmergencyRequest(requestId);
     }
 
     @GetMapping("/status/{status}")
-    public List<Donation> getDonationsByStatus(@PathVariable String status) {
+    public List<DonationSummary> getDonationsByStatus(@PathVariable String status) {
         Donation.DonationStatus donationStatus = Donation.DonationStatus.valueOf(status);
         return donationService.getDonationsByStatus(donationStatus);
     }
 
     @GetMapping("/blood-type/{bloodType}")
-    public List<Donation> getDonationsByBloodType(@PathVariable String bloodType) {
-        return donationService.getDonationsByBloodType(bloodType);
+    public List<DonationSummary> getDonationsByBloodType(@PathVariable String bloodType) {
+        return donationService.getDonationsByBloodType(BloodTypeParam.parse(bloodType));
     }
 
     @PostMapping("/drive/{donorId}/{driveId}")
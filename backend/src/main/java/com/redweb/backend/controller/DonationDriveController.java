@@ -1,5 +1,6 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.dto.summary.DonationDriveSummary;
 import com.redweb.backend.model.DonationDrive;
 import com.redweb.backend.service.DonationDriveService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +20,7 @@ public class DonationDriveController {
     private DonationDriveService donationDriveService;
 
     @GetMapping
-    public List<DonationDrive> getAllDonationDrives() {
+    public List<DonationDriveSummary> getAllDonationDrives() {
         return donationDriveService.getAllDonationDrives();
     }
 
@@ -29,22 +30,22 @@ public class DonationDriveController {
     }
 
     @GetMapping("/organizer/{organizerId}")
-    public List<DonationDrive> getDonationDrivesByOrganizer(@PathVariable Long organizerId) {
+    public List<DonationDriveSummary> getDonationDrivesByOrganizer(@PathVariable Long organizerId) {
         return donationDriveService.getDonationDrivesByOrganizer(organizerId);
     }
 
     @GetMapping("/active")
-    public List<DonationDrive> getActiveDonationDrives() {
+    public List<DonationDriveSummary> getActiveDonationDrives() {
         return donationDriveService.getActiveDonationDrives();
     }
 
     @GetMapping("/upcoming")
-    public List<DonationDrive> getUpcomingDonationDrives() {
+    public List<DonationDriveSummary> getUpcomingDonationDrives() {
         return donationDriveService.getUpcomingDonationDrives();
     }
 
     @GetMapping("/blood-type/{bloodType}")
-    public List<DonationDrive> getDonationDrivesByBloodType(@PathVariable String bloodType) {
+    public List<DonationDriveSummary> getDonationDrivesByBloodType(@PathVariable String bloodType) {
         return donationDriveService.getDonationDrivesByBloodType(bloodType);
     }
 
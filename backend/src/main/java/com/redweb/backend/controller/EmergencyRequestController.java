@@ -1,11 +1,23 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.dto.summary.EmergencyRequestCard;
+import com.redweb.backend.dto.summary.EmergencyRequestSummary;
 import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.User;
+import com.redweb.backend.security.UserPrincipal;
+import com.redweb.backend.service.EmergencyAlertBroadcaster;
 import com.redweb.backend.service.EmergencyRequestService;
+import com.redweb.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,9 +30,17 @@ public class EmergencyRequestController {
     @Autowired
     private EmergencyRequestService emergencyRequestService;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmergencyAlertBroadcaster emergencyAlertBroadcaster;
+
     @GetMapping
-    public List<EmergencyRequest> getAllEmergencyRequests() {
-        return emergencyRequestService.getAllEmergencyRequests();
+    public CursorPage<EmergencyRequestSummary> getAllEmergencyRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size) {
+        return emergencyRequestService.getEmergencyRequestsPage(cursor, size);
     }
 
     @GetMapping("/{id}")
@@ -28,28 +48,61 @@ public class EmergencyRequestController {
         return ResponseEntity.ok(emergencyRequestService.getEmergencyRequestById(id));
     }
 
+    @GetMapping("/{id}/donors")
+    public List<User> getMatchingDonors(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_EMERGENCY_RADIUS_KM) double radiusKm,
+            @RequestParam(defaultValue = "" + UserService.MAX_EMERGENCY_DONORS) int limit) {
+        EmergencyRequest request = emergencyRequestService.getEmergencyRequestById(id);
+        return userService.getDonorsForEmergency(request, radiusKm, limit);
+    }
+
     @GetMapping("/patient/{patientId}")
-    public List<EmergencyRequest> getEmergencyRequestsByPatient(@PathVariable Long patientId) {
+    public List<EmergencyRequestSummary> getEmergencyRequestsByPatient(@PathVariable Long patientId) {
         return emergencyRequestService.getEmergencyRequestsByPatient(patientId);
     }
 
     @GetMapping("/active")
-    public List<EmergencyRequest> getActiveEmergencyRequests() {
+    public List<EmergencyRequestCard> getActiveEmergencyRequests() {
         return emergencyRequestService.getActiveEmergencyRequests();
     }
 
     @GetMapping("/blood-type/{bloodType}")
-    public List<EmergencyRequest> getEmergencyRequestsByBloodType(@PathVariable String bloodType) {
-        return emergencyRequestService.getEmergencyRequestsByBloodType(bloodType);
+    public List<EmergencyRequestSummary> getEmergencyRequestsByBloodType(@PathVariable String bloodType) {
+        return emergencyRequestService.getEmergencyRequestsByBloodType(BloodTypeParam.parse(bloodType));
     }
 
     @GetMapping("/active/blood-type/{bloodType}")
-    public List<EmergencyRequest> getActiveEmergencyRequestsByBloodType(@PathVariable String bloodType) {
-        return emergencyRequestService.getActiveEmergencyRequestsByBloodType(bloodType);
+    public List<EmergencyRequestCard> getActiveEmergencyRequestsByBloodType(@PathVariable String bloodType) {
+        return emergencyRequestService.getActiveEmergencyRequestsByBloodType(BloodTypeParam.parse(bloodType));
+    }
+
+    /**
+     * Server-Sent Events stream of new active emergency requests the calling donor can give
+     * to, within {@code radiusKm} of the given point (their profile location by default).
+     * Replaces polling /active: fetch it once on (re)connect, then listen here.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmergencyRequests(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_EMERGENCY_RADIUS_KM) double radiusKm) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+        User donor = userService.getUserById(principal.getId());
+        if (donor.getRole() != User.UserRole.DONOR || donor.getBloodType() == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only donors with a blood type can subscribe");
+        }
+        return emergencyAlertBroadcaster.subscribe(donor.getId(), donor.getBloodType(),
+                latitude != null ? latitude : donor.getLatitude(),
+                longitude != null ? longitude : donor.getLongitude(),
+                UserService.boundedRadiusKm(radiusKm));
     }
 
     @GetMapping("/urgency/{urgencyLevel}")
-    public List<EmergencyRequest> getEmergencyRequestsByUrgency(@PathVariable String urgencyLevel) {
+    public List<EmergencyRequestSummary> getEmergencyRequestsByUrgency(@PathVariable String urgencyLevel) {
         EmergencyRequest.UrgencyLevel level = EmergencyRequest.UrgencyLevel.valueOf(urgencyLevel);
         return emergencyRequestService.getEmergencyRequestsByUrgency(level);
     }
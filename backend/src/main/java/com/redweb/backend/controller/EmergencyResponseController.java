@@ -1,11 +1,20 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.dto.summary.EmergencyResponseSummary;
 import com.redweb.backend.model.EmergencyResponse;
+import com.redweb.backend.model.ResponderLocationPoint;
+import com.redweb.backend.security.UserPrincipal;
+import com.redweb.backend.service.EmergencyRequestService;
 import com.redweb.backend.service.EmergencyResponseService;
+import com.redweb.backend.service.ResponderLocationTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,8 +27,14 @@ public class EmergencyResponseController {
     @Autowired
     private EmergencyResponseService emergencyResponseService;
 
+    @Autowired
+    private EmergencyRequestService emergencyRequestService;
+
+    @Autowired
+    private ResponderLocationTracker responderLocationTracker;
+
     @GetMapping
-    public List<EmergencyResponse> getAllEmergencyResponses() {
+    public List<EmergencyResponseSummary> getAllEmergencyResponses() {
         return emergencyResponseService.getAllEmergencyResponses();
     }
 
@@ -29,17 +44,37 @@ public class EmergencyResponseController {
     }
 
     @GetMapping("/donor/{donorId}")
-    public List<EmergencyResponse> getEmergencyResponsesByDonor(@PathVariable Long donorId) {
+    public List<EmergencyResponseSummary> getEmergencyResponsesByDonor(@PathVariable Long donorId) {
         return emergencyResponseService.getEmergencyResponsesByDonor(donorId);
     }
 
     @GetMapping("/request/{requestId}")
-    public List<EmergencyResponse> getEmergencyResponsesByRequest(@PathVariable Long requestId) {
+    public List<EmergencyResponseSummary> getEmergencyResponsesByRequest(@PathVariable Long requestId) {
         return emergencyResponseService.getEmergencyResponsesByRequest(requestId);
     }
 
+    // Live positions and ETAs of everyone responding to the request, for its patient or an admin
+    @GetMapping(value = "/request/{requestId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamResponderLocations(@AuthenticationPrincipal UserPrincipal principal,
+                                               @PathVariable Long requestId) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+        boolean admin = principal.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin && !principal.getId().equals(emergencyRequestService.getPatientId(requestId))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only the request's patient can follow its responders");
+        }
+        return responderLocationTracker.subscribe(requestId);
+    }
+
+    @GetMapping("/{id}/trail")
+    public List<ResponderLocationPoint> getEmergencyResponseTrail(@PathVariable Long id) {
+        return emergencyResponseService.getEmergencyResponseTrail(id);
+    }
+
     @GetMapping("/status/{status}")
-    public List<EmergencyResponse> getEmergencyResponsesByStatus(@PathVariable String status) {
+    public List<EmergencyResponseSummary> getEmergencyResponsesByStatus(@PathVariable String status) {
         EmergencyResponse.ResponseStatus responseStatus = EmergencyResponse.ResponseStatus.valueOf(status);
         return emergencyResponseService.getEmergencyResponsesByStatus(responseStatus);
     }
@@ -69,12 +104,13 @@ public class EmergencyResponseController {
         return ResponseEntity.ok(emergencyResponseService.updateEmergencyResponseStatus(id, responseStatus));
     }
 
+    // Accepted into memory; persisted with the next batched flush
     @PutMapping("/{id}/location")
-    public ResponseEntity<EmergencyResponse> updateEmergencyResponseLocation(
+    public ResponseEntity<ResponderLocationTracker.LivePosition> updateEmergencyResponseLocation(
             @PathVariable Long id,
             @RequestParam double latitude,
             @RequestParam double longitude) {
-        return ResponseEntity.ok(
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(
                 emergencyResponseService.updateEmergencyResponseLocation(id, latitude, longitude));
     }
 
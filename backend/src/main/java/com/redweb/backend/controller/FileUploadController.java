@@ -1,5 +1,8 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -8,48 +11,33 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/public")
 public class FileUploadController {
 
+    @Autowired
+    private FileStorageService fileStorageService;
+
     @PostMapping("/upload")
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
-        try {
-            // Generate a unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            
-            // Handle file extension safely
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            
-            // Create upload directory if it doesn't exist
-            String uploadDir = "uploads/verification";
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            
-            // Save the file
-            Path filePath = uploadPath.resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        try (InputStream content = file.getInputStream()) {
+            FileStorageService.StoredFile stored = fileStorageService.store(
+                    content, file.getOriginalFilename(), file.getSize());
             
             // Return success response with the filename
             Map<String, String> response = new HashMap<>();
             response.put("success", "File uploaded successfully");
-            response.put("filename", uniqueFilename);
+            response.put("filename", stored.filename());
             return ResponseEntity.ok(response);
             
+        } catch (FileStorageService.FileTooLargeException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
         } catch (IOException e) {
             Map<String, String> response = new HashMap<>();
             response.put("error", "Could not upload file: " + e.getMessage());
@@ -0,0 +1,35 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.service.Leaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @GetMapping
+    public List<Leaderboard.Standing> getTop(@RequestParam(defaultValue = "10") int limit) {
+        return leaderboard.top(limit);
+    }
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<Leaderboard.Standing> getRank(@PathVariable Long userId) {
+        Leaderboard.Standing standing = leaderboard.rankOf(userId);
+        return standing != null ? ResponseEntity.ok(standing) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/users/{userId}/neighbors")
+    public ResponseEntity<List<Leaderboard.Standing>> getNeighbors(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "5") int radius) {
+        List<Leaderboard.Standing> neighbors = leaderboard.neighbors(userId, radius);
+        return neighbors.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(neighbors);
+    }
+}
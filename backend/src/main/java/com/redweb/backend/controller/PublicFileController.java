@@ -1,5 +1,7 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,13 +16,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @CrossOrigin(origins = "*", maxAge = 3600)  // Allow from any origin
 @RestController
@@ -29,10 +27,11 @@ public class PublicFileController {
     
     private static final Logger logger = LoggerFactory.getLogger(PublicFileController.class);
 
+    @Autowired
+    private FileStorageService fileStorageService;
+
     @PostMapping(value = "/upload", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
-        logger.info("Received file upload request: " + (file != null ? file.getOriginalFilename() : "null"));
-        
         // Check for null file first
         if (file == null) {
             logger.error("File upload failed: File is null");
@@ -40,43 +39,26 @@ public class PublicFileController {
                 .body(Map.of("success", "false", "message", "File is null"));
         }
         
-        try {
-            // Generate a unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            
-            // Handle file extension safely
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            
-            // Create upload directory if it doesn't exist
-            String uploadDir = "uploads/verification";
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            
-            // Save the file
-            Path filePath = uploadPath.resolve(uniqueFilename);
-            if (file == null || file.isEmpty()) {
-                logger.error("File upload failed: File is null or empty");
-                return ResponseEntity.badRequest()
-                    .body(new HashMap<String, String>() {{
-                        put("success", "false");
-                        put("message", "File is null or empty");
-                    }});
-            }
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        if (file.isEmpty()) {
+            logger.error("File upload failed: File is empty");
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", "false", "message", "File is null or empty"));
+        }
+        
+        try (InputStream content = file.getInputStream()) {
+            FileStorageService.StoredFile stored = fileStorageService.store(
+                    content, file.getOriginalFilename(), file.getSize());
             
             // Return success response with the filename
             Map<String, String> response = new HashMap<>();
             response.put("success", "File uploaded successfully");
-            response.put("filename", uniqueFilename);
-            logger.info("File uploaded successfully: " + uniqueFilename);
+            response.put("filename", stored.filename());
+            logger.debug("File uploaded successfully: {}", stored.filename());
             return ResponseEntity.ok(response);
             
+        } catch (FileStorageService.FileTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("success", "false", "message", e.getMessage()));
         } catch (IOException e) {
             logger.error("Error uploading file: " + e.getMessage(), e);
             Map<String, String> response = new HashMap<>();
@@ -5,25 +5,26 @@ import com.redweb.backend.model.HealthRecord;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.HealthRecordRepository;
 import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.security.PasswordHashingBusyException;
+import com.redweb.backend.service.FileStorageService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * This controller provides public registration endpoints that bypass security filters
@@ -43,12 +44,30 @@ public class PublicRegistrationController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private FileStorageService fileStorageService;
+
     /**
      * Public endpoint for patient registration that bypasses all security filters
      */
     @PostMapping("/public/register/patient")
     public ResponseEntity<?> registerPatient(@Valid @RequestBody PatientRegistrationRequest request) {
-        logger.info("Received patient registration request in PublicRegistrationController for email: " + request.getEmail());
+        return createPatient(request, null);
+    }
+
+    /**
+     * Multipart variant: registration fields as a JSON "patient" part, the verification
+     * document as a file part that is streamed to storage instead of Base64 in the JSON
+     */
+    @PostMapping(value = "/public/register/patient", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> registerPatientMultipart(
+            @Valid @RequestPart("patient") PatientRegistrationRequest request,
+            @RequestPart(value = "verificationDocument", required = false) MultipartFile document) {
+        return createPatient(request, document);
+    }
+
+    private ResponseEntity<?> createPatient(PatientRegistrationRequest request, MultipartFile document) {
+        logger.info("Received patient registration request in PublicRegistrationController for email: {}", request.getEmail());
         
         try {
             // Check if email is already taken
@@ -90,58 +109,18 @@ public class PublicRegistrationController {
             healthRecord.setUpdatedAt(LocalDateTime.now());
             
             // Handle verification document
-            String documentPath = null;
+            String documentPath;
             try {
-                // Process the Base64-encoded verification document if provided
-                if (request.getVerificationDocumentBase64() != null && !request.getVerificationDocumentBase64().isEmpty()) {
-                    logger.info("Processing verification document with filename: " + request.getVerificationDocumentFilename());
-                    
-                    try {
-                        // Decode the Base64 string to binary data
-                        String base64Data = request.getVerificationDocumentBase64();
-                        // Remove the data:image/xyz;base64, prefix if present
-                        if (base64Data.contains(",")) {
-                            base64Data = base64Data.split(",")[1];
-                        }
-                        byte[] fileData = java.util.Base64.getDecoder().decode(base64Data);
-                        
-                        // Create a unique filename
-                        String originalFilename = request.getVerificationDocumentFilename();
-                        String fileExtension = "";
-                        if (originalFilename != null && originalFilename.contains(".")) {
-                            fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-                        }
-                        String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-                        
-                        // Create directory if it doesn't exist
-                        String uploadDir = "uploads/verification";
-                        Path uploadPath = Paths.get(uploadDir);
-                        if (!Files.exists(uploadPath)) {
-                            Files.createDirectories(uploadPath);
-                        }
-                        
-                        // Save the file
-                        Path filePath = uploadPath.resolve(uniqueFilename);
-                        Files.write(filePath, fileData);
-                        
-                        // Set the document path
-                        documentPath = uploadDir + "/" + uniqueFilename;
-                        logger.info("Successfully saved verification document to: " + documentPath);
-                        
-                    } catch (Exception e) {
-                        // Log the error but continue - make this non-blocking
-                        logger.error("Error processing verification document: " + e.getMessage(), e);
-                        documentPath = "Error saving document: " + e.getMessage();
-                    }
-                } else {
-                    logger.info("No verification document provided in the request");
-                    documentPath = "No document provided";
-                }
+                FileStorageService.StoredFile stored = fileStorageService.storeDocument(document,
+                        request.getVerificationDocumentBase64(), request.getVerificationDocumentFilename());
+                documentPath = stored != null ? stored.filename() : "No document provided";
             } catch (Exception e) {
-                // Catch any unexpected errors but don't fail registration
-                logger.error("Unexpected error handling document: " + e.getMessage(), e);
-                documentPath = "Error in document processing";
+                // Log the error but continue - make this non-blocking
+                logger.error("Error processing verification document: {}", e.getMessage(), e);
+                documentPath = "Error saving document: " + e.getMessage();
             }
+            // The Base64 payload can be several MB; let it go before the database work
+            request.setVerificationDocumentBase64(null);
             
             healthRecord.setMedicalNotes(healthRecord.getMedicalNotes() + "\nMedical verification document: " + documentPath);
             
@@ -153,6 +132,8 @@ public class PublicRegistrationController {
             response.put("message", "Patient registered successfully");
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             // Log detailed error information
             logger.error("Error in patient registration: " + e.getMessage(), e);
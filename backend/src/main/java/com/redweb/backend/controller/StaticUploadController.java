@@ -1,7 +1,10 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.service.FileStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -12,13 +15,9 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @Controller
 @CrossOrigin(origins = "*")
@@ -26,43 +25,28 @@ public class StaticUploadController {
 
     private static final Logger logger = LoggerFactory.getLogger(StaticUploadController.class);
 
+    @Autowired
+    private FileStorageService fileStorageService;
+
     @PostMapping(value = "/upload", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public ResponseEntity<Map<String, String>> handleFileUpload(@RequestParam("file") MultipartFile file) {
-        logger.info("Received file upload request in StaticUploadController: " + 
-                    (file != null ? file.getOriginalFilename() : "null"));
-        
         Map<String, String> response = new HashMap<>();
         
-        try {
-            // Generate a unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            
-            // Handle file extension safely
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            
-            // Create upload directory if it doesn't exist
-            String uploadDir = "uploads/verification";
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            
-            // Save the file
-            Path filePath = uploadPath.resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        try (InputStream content = file.getInputStream()) {
+            FileStorageService.StoredFile stored = fileStorageService.store(
+                    content, file.getOriginalFilename(), file.getSize());
             
             // Return success response with the filename
             response.put("success", "File uploaded successfully");
-            response.put("filename", uniqueFilename);
-            logger.info("File uploaded successfully in StaticUploadController: " + uniqueFilename);
+            response.put("filename", stored.filename());
+            logger.debug("File uploaded successfully in StaticUploadController: {}", stored.filename());
             
             return ResponseEntity.ok(response);
             
+        } catch (FileStorageService.FileTooLargeException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
         } catch (IOException e) {
             logger.error("Error uploading file in StaticUploadController: " + e.getMessage(), e);
             response.put("error", "Could not upload file: " + e.getMessage());
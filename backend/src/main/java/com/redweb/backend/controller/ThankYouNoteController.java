@@ -1,5 +1,6 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.dto.summary.ThankYouNoteSummary;
 import com.redweb.backend.model.ThankYouNote;
 import com.redweb.backend.service.ThankYouNoteService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +20,7 @@ public class ThankYouNoteController {
     private ThankYouNoteService thankYouNoteService;
 
     @GetMapping
-    public List<ThankYouNote> getAllThankYouNotes() {
+    public List<ThankYouNoteSummary> getAllThankYouNotes() {
         return thankYouNoteService.getAllThankYouNotes();
     }
 
@@ -29,17 +30,17 @@ public class ThankYouNoteController {
     }
 
     @GetMapping("/donor/{donorId}")
-    public List<ThankYouNote> getThankYouNotesByDonor(@PathVariable Long donorId) {
+    public List<ThankYouNoteSummary> getThankYouNotesByDonor(@PathVariable Long donorId) {
         return thankYouNoteService.getThankYouNotesByDonor(donorId);
     }
 
     @GetMapping("/patient/{patientId}")
-    public List<ThankYouNote> getThankYouNotesByPatient(@PathVariable Long patientId) {
+    public List<ThankYouNoteSummary> getThankYouNotesByPatient(@PathVariable Long patientId) {
         return thankYouNoteService.getThankYouNotesByPatient(patientId);
     }
 
     @GetMapping("/donation/{donationId}")
-    public List<ThankYouNote> getThankYouNotesByDonation(@PathVariable Long donationId) {
+    public List<ThankYouNoteSummary> getThankYouNotesByDonation(@PathVariable Long donationId) {
         return thankYouNoteService.getThankYouNotesByDonation(donationId);
     }
 
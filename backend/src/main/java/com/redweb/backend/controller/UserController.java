@@ -1,6 +1,11 @@
 package com.redweb.backend.controller;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.PointsLedgerEntry;
 import com.redweb.backend.model.User;
+import com.redweb.backend.service.PointsService;
 import com.redweb.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +23,15 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PointsService pointsService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public List<User> getAllUsers() {
-        return userService.getAllUsers();
+    public CursorPage<User> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size) {
+        return userService.getUsersPage(cursor, size);
     }
 
     @GetMapping("/{id}")
@@ -30,13 +40,17 @@ public class UserController {
     }
 
     @GetMapping("/donors")
-    public List<User> getAllDonors() {
-        return userService.getUsersByRole(User.UserRole.DONOR);
+    public CursorPage<User> getAllDonors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size) {
+        return userService.getUsersByRole(User.UserRole.DONOR, cursor, size);
     }
 
     @GetMapping("/patients")
-    public List<User> getAllPatients() {
-        return userService.getUsersByRole(User.UserRole.PATIENT);
+    public CursorPage<User> getAllPatients(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PageCursor.DEFAULT_PAGE_SIZE) int size) {
+        return userService.getUsersByRole(User.UserRole.PATIENT, cursor, size);
     }
 
     @GetMapping("/current")
@@ -68,8 +82,22 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/points/history")
+    public List<PointsLedgerEntry> getPointsHistory(@PathVariable Long id, @RequestParam(defaultValue = "50") int limit) {
+        return pointsService.getHistory(id, limit);
+    }
+
     @GetMapping("/emergency-donors")
-    public List<User> getEmergencyDonors(@RequestParam String bloodType) {
-        return userService.getDonorsForEmergency(bloodType);
+    public List<User> getEmergencyDonors(
+            @RequestParam String bloodType,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_EMERGENCY_RADIUS_KM) double radiusKm,
+            @RequestParam(defaultValue = "" + UserService.MAX_EMERGENCY_DONORS) int limit) {
+        BloodType recipientType = BloodTypeParam.parse(bloodType);
+        if (latitude == null || longitude == null) {
+            return userService.getDonorsForEmergency(recipientType);
+        }
+        return userService.getDonorsForEmergency(recipientType, latitude, longitude, radiusKm, limit);
     }
 }
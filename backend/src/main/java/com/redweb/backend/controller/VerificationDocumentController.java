@@ -0,0 +1,150 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.service.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Serves stored verification documents to admins. Files are content-addressed, so the
+ * SHA-256 in the name is a strong ETag and responses never change for a given URL.
+ * Supports If-None-Match / If-Modified-Since, Range and If-Range. Single ranges and whole
+ * files are handed to Tomcat's sendfile when the connector supports it; otherwise they are
+ * written as {@link ResourceRegion}s streamed from the file, never read into the heap.
+ */
+@RestController
+@RequestMapping("/api/files/verification")
+public class VerificationDocumentController {
+
+    private static final Pattern STORED_NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @GetMapping("/{shard1}/{shard2}/{filename:.+}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getDocument(@PathVariable String shard1,
+                                         @PathVariable String shard2,
+                                         @PathVariable String filename,
+                                         WebRequest webRequest,
+                                         HttpServletRequest request) throws IOException {
+        // Only names store() can produce, and only under their own shard directories
+        if (!STORED_NAME.matcher(filename).matches()
+                || !filename.startsWith(shard1 + shard2) || shard1.length() != 2 || shard2.length() != 2) {
+            return ResponseEntity.notFound().build();
+        }
+        Path path = fileStorageService.resolve(shard1 + "/" + shard2 + "/" + filename);
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = "\"" + filename.substring(0, 64) + "\"";
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            // 304 with the validators has already been written
+            return null;
+        }
+
+        FileSystemResource resource = new FileSystemResource(path);
+        long length = resource.contentLength();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+        headers.setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable());
+        headers.setContentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM));
+
+        boolean hasRange = request.getHeader(HttpHeaders.RANGE) != null;
+        boolean rangeApplies = hasRange && rangeApplies(request, etag, lastModified);
+
+        if (HttpMethod.GET.matches(request.getMethod()) && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            List<ResourceRegion> regions;
+            try {
+                regions = rangeApplies
+                        ? HttpRange.toResourceRegions(HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE)), resource)
+                        : List.of(new ResourceRegion(resource, 0, length));
+            } catch (IllegalArgumentException e) {
+                headers.setContentType(null);
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+            // Multiple ranges need a multipart/byteranges body, which only the converter below writes
+            if (regions.size() == 1) {
+                return sendfile(request, headers, path, regions.get(0), length, rangeApplies);
+            }
+        }
+
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (hasRange && !rangeApplies) {
+            // Spring applies a Range header to any Resource body; If-Range has rejected this one
+            headers.setContentLength(length);
+            return ResponseEntity.ok().headers(headers).body(new InputStreamResource(resource.getInputStream()));
+        }
+        // Spring turns a Range header into ResourceRegion(s) and a 206, or a 416 if unsatisfiable
+        return ResponseEntity.ok().headers(headers).body(resource);
+    }
+
+    // If-Range: the Range header only counts if the client's copy is still current
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lets Tomcat's NIO connector transfer the region with sendfile once the headers are
+     * committed, so the bytes go from the page cache to the socket without entering the JVM.
+     */
+    private static ResponseEntity<?> sendfile(HttpServletRequest request, HttpHeaders headers,
+                                              Path path, ResourceRegion region, long length, boolean partial) {
+        long start = region.getPosition();
+        long end = start + region.getCount();
+        request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentLength(region.getCount());
+        if (!partial) {
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.redweb.backend.dto.auth;
 
+import com.redweb.backend.model.BloodType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
@@ -24,8 +26,8 @@ public class DonorRegistrationRequest {
     @Pattern(regexp = "^[0-9]{10,15}$", message = "Phone number should be valid")
     private String phone;
 
-    @NotBlank(message = "Blood type is required")
-    private String bloodType;
+    @NotNull(message = "Blood type is required")
+    private BloodType bloodType;
 
     private double latitude;
     private double longitude;
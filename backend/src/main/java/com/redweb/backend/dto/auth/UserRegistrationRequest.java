@@ -1,5 +1,6 @@
 package com.redweb.backend.dto.auth;
 
+import com.redweb.backend.model.BloodType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
@@ -20,7 +21,7 @@ public class UserRegistrationRequest {
 
     private String phone;
 
-    private String bloodType;
+    private BloodType bloodType;
 
     private double latitude;
 
@@ -72,11 +73,11 @@ public class UserRegistrationRequest {
         this.phone = phone;
     }
 
-    public String getBloodType() {
+    public BloodType getBloodType() {
         return bloodType;
     }
 
-    public void setBloodType(String bloodType) {
+    public void setBloodType(BloodType bloodType) {
         this.bloodType = bloodType;
     }
 
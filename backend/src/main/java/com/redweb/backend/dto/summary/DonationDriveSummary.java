@@ -0,0 +1,23 @@
+package com.redweb.backend.dto.summary;
+
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DonationDriveSummary(Long id, Long organizerId, String organizerName, String title,
+                                   String description, double latitude, double longitude,
+                                   LocalDateTime startDate, LocalDateTime endDate, List<String> requiredBloodTypes,
+                                   int maxCapacity, int currentDonors, DonationDrive.DriveStatus status) {
+
+    // Expects the organizer and blood types to be loaded already
+    public static DonationDriveSummary of(DonationDrive drive) {
+        User organizer = drive.getOrganizer();
+        return new DonationDriveSummary(drive.getId(), organizer.getId(),
+                organizer.getFirstName() + " " + organizer.getLastName(), drive.getTitle(),
+                drive.getDescription(), drive.getLatitude(), drive.getLongitude(), drive.getStartDate(),
+                drive.getEndDate(), List.copyOf(drive.getRequiredBloodTypes()), drive.getMaxCapacity(),
+                drive.getCurrentDonors(), drive.getStatus());
+    }
+}
@@ -0,0 +1,16 @@
+package com.redweb.backend.dto.summary;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+
+import java.time.LocalDateTime;
+
+/**
+ * A donation as listed: the donor, drive and emergency request are referred to by id and
+ * name instead of being embedded.
+ */
+public record DonationSummary(Long id, Long donorId, String donorName, Long driveId, String driveTitle,
+                              Long emergencyRequestId, LocalDateTime donationDate, BloodType bloodType,
+                              double units, int pointsAwarded, Donation.DonationStatus status,
+                              LocalDateTime createdAt) {
+}
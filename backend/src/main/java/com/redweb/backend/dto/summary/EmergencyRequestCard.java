@@ -0,0 +1,18 @@
+package com.redweb.backend.dto.summary;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+
+import java.time.LocalDateTime;
+
+// What a donor's phone needs to show an active request; the patient is not exposed
+public record EmergencyRequestCard(Long id, BloodType bloodType, int unitsNeeded, double latitude, double longitude,
+                                   EmergencyRequest.UrgencyLevel urgencyLevel, String notes,
+                                   LocalDateTime createdAt) {
+
+    public static EmergencyRequestCard of(EmergencyRequest request) {
+        return new EmergencyRequestCard(request.getId(), request.getBloodType(), request.getUnitsNeeded(),
+                request.getLatitude(), request.getLongitude(), request.getUrgencyLevel(),
+                request.getNotes(), request.getCreatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package com.redweb.backend.dto.summary;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+
+import java.time.LocalDateTime;
+
+public record EmergencyRequestSummary(Long id, Long patientId, String patientName, BloodType bloodType,
+                                      int unitsNeeded, Double unitsCollected, double latitude, double longitude,
+                                      EmergencyRequest.RequestStatus status, EmergencyRequest.UrgencyLevel urgencyLevel,
+                                      String notes, LocalDateTime createdAt) {
+}
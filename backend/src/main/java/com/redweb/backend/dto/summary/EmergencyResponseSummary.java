@@ -0,0 +1,16 @@
+package com.redweb.backend.dto.summary;
+
+import com.redweb.backend.model.EmergencyResponse;
+
+import java.time.LocalDateTime;
+
+public record EmergencyResponseSummary(Long id, Long requestId, Long donorId, String donorName,
+                                       EmergencyResponse.ResponseStatus status, LocalDateTime estimatedArrivalTime,
+                                       double currentLatitude, double currentLongitude, LocalDateTime createdAt) {
+
+    // The same response at a position newer than the stored one
+    public EmergencyResponseSummary withPosition(double latitude, double longitude, LocalDateTime estimatedArrival) {
+        return new EmergencyResponseSummary(id, requestId, donorId, donorName, status, estimatedArrival,
+                latitude, longitude, createdAt);
+    }
+}
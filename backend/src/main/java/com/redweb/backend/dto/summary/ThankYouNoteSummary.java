@@ -0,0 +1,7 @@
+package com.redweb.backend.dto.summary;
+
+import java.time.LocalDateTime;
+
+public record ThankYouNoteSummary(Long id, Long donorId, String donorName, Long patientId, String patientName,
+                                  Long donationId, String message, boolean anonymous, LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package com.redweb.backend.dto.summary;
+
+import java.time.LocalDateTime;
+
+public record UserBadgeSummary(Long id, Long userId, String userName, Long badgeId, String badgeTitle,
+                               LocalDateTime awardedAt) {
+}
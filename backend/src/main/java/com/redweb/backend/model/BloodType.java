@@ -0,0 +1,99 @@
+package com.redweb.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+public enum BloodType {
+    //          label  A      B      Rh
+    O_NEGATIVE("O-", false, false, false),
+    O_POSITIVE("O+", false, false, true),
+    A_NEGATIVE("A-", true, false, false),
+    A_POSITIVE("A+", true, false, true),
+    B_NEGATIVE("B-", false, true, false),
+    B_POSITIVE("B+", false, true, true),
+    AB_NEGATIVE("AB-", true, true, false),
+    AB_POSITIVE("AB+", true, true, true);
+
+    private static final BloodType[] VALUES = values();
+
+    // RECIPIENT_MASKS[donor] has bit r set when the donor can give to recipient r,
+    // DONOR_MASKS[recipient] has bit d set when donor d can give to the recipient
+    private static final int[] RECIPIENT_MASKS = new int[VALUES.length];
+    private static final int[] DONOR_MASKS = new int[VALUES.length];
+
+    static {
+        for (BloodType donor : VALUES) {
+            for (BloodType recipient : VALUES) {
+                // A donor is compatible when the recipient carries every antigen the donor has
+                if ((donor.antigens & ~recipient.antigens) == 0) {
+                    RECIPIENT_MASKS[donor.ordinal()] |= recipient.bit();
+                    DONOR_MASKS[recipient.ordinal()] |= donor.bit();
+                }
+            }
+        }
+        for (BloodType recipient : VALUES) {
+            EnumSet<BloodType> donors = EnumSet.noneOf(BloodType.class);
+            for (BloodType donor : VALUES) {
+                if ((DONOR_MASKS[recipient.ordinal()] & donor.bit()) != 0) {
+                    donors.add(donor);
+                }
+            }
+            recipient.compatibleDonors = Collections.unmodifiableSet(donors);
+        }
+    }
+
+    private final String label;
+    private final int antigens;
+    private Set<BloodType> compatibleDonors;
+
+    BloodType(String label, boolean antigenA, boolean antigenB, boolean rhesus) {
+        this.label = label;
+        this.antigens = (antigenA ? 1 : 0) | (antigenB ? 2 : 0) | (rhesus ? 4 : 0);
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean canDonateTo(BloodType recipient) {
+        return (RECIPIENT_MASKS[ordinal()] & recipient.bit()) != 0;
+    }
+
+    // Bit set of the donor types this recipient can receive from, indexed by ordinal
+    public int compatibleDonorMask() {
+        return DONOR_MASKS[ordinal()];
+    }
+
+    public Set<BloodType> compatibleDonors() {
+        return compatibleDonors;
+    }
+
+    @JsonCreator
+    public static BloodType fromLabel(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (BloodType type : VALUES) {
+            if (type.label.equals(normalized) || type.name().equals(normalized)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown blood type: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,19 @@
+package com.redweb.backend.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores blood types with their usual labels ("O-", "AB+"); V7 rewrote older spellings to these
+@Converter(autoApply = true)
+public class BloodTypeConverter implements AttributeConverter<BloodType, String> {
+
+    @Override
+    public String convertToDatabaseColumn(BloodType bloodType) {
+        return bloodType != null ? bloodType.getLabel() : null;
+    }
+
+    @Override
+    public BloodType convertToEntityAttribute(String label) {
+        return BloodType.fromLabel(label);
+    }
+}
@@ -1,5 +1,6 @@
 package com.redweb.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "donations")
 public class Donation {
@@ -17,23 +19,23 @@ public class Donation {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "donor_id", nullable = false)
     private User donor;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "drive_id")
     private DonationDrive drive;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "emergency_request_id")
     private EmergencyRequest emergencyRequest;
     
     @Column(nullable = false)
     private LocalDateTime donationDate;
     
-    @Column(nullable = false)
-    private String bloodType;
+    // Null only for legacy rows whose blood type could not be read (see V7)
+    private BloodType bloodType;
     
     @Column(nullable = false)
     private double units;
@@ -1,6 +1,11 @@
 package com.redweb.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.redweb.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,7 +15,10 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.DONATION_DRIVES)
 @Table(name = "donation_drives")
 public class DonationDrive {
     
@@ -18,7 +26,7 @@ public class DonationDrive {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organizer_id", nullable = false)
     private User organizer;
     
@@ -41,6 +49,7 @@ public class DonationDrive {
     private LocalDateTime endDate;
     
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.DONATION_DRIVE_BLOOD_TYPES)
     @CollectionTable(name = "donation_drive_blood_types", joinColumns = @JoinColumn(name = "drive_id"))
     @Column(name = "blood_type")
     private List<String> requiredBloodTypes;
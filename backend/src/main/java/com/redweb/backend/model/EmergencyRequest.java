@@ -1,6 +1,8 @@
 package com.redweb.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "emergency_requests")
 public class EmergencyRequest {
@@ -17,16 +21,19 @@ public class EmergencyRequest {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private User patient;
     
-    @Column(nullable = false)
-    private String bloodType;
+    // Null only for legacy rows whose blood type could not be read (see V7)
+    private BloodType bloodType;
     
     @Column(nullable = false)
     private int unitsNeeded;
     
+    // Running total of donated units; V3 filled it in for requests created before it existed
+    private Double unitsCollected;
+    
     @Column(nullable = false)
     private double latitude;
     
@@ -52,6 +59,9 @@ public class EmergencyRequest {
     
     @PrePersist
     protected void onCreate() {
+        if (unitsCollected == null) {
+            unitsCollected = 0.0;
+        }
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
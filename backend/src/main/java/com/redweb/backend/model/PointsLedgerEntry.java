@@ -0,0 +1,49 @@
+package com.redweb.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One award or adjustment of a user's points. Rows are only ever appended; User.points
+ * is the running balance of a user's entries.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "points_ledger",
+        indexes = @Index(name = "idx_points_ledger_user", columnList = "userId, id"))
+public class PointsLedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private int points;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Reason reason;
+    
+    // Donation or thank you note that earned the points, if any
+    private Long referenceId;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public enum Reason {
+        OPENING_BALANCE, DRIVE_DONATION, EMERGENCY_DONATION, THANK_YOU_NOTE, ADJUSTMENT
+    }
+}
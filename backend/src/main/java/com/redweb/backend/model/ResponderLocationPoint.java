@@ -0,0 +1,36 @@
+package com.redweb.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A downsampled point of a responding donor's route, written in batches by
+ * ResponderLocationTracker rather than once per GPS ping.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "responder_location_points",
+        indexes = @Index(name = "idx_responder_location_points_response", columnList = "responseId, recordedAt"))
+public class ResponderLocationPoint {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long responseId;
+    
+    @Column(nullable = false)
+    private double latitude;
+    
+    @Column(nullable = false)
+    private double longitude;
+    
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
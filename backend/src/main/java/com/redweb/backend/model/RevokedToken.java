@@ -0,0 +1,36 @@
+package com.redweb.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A revoked JWT. Rows with a jti revoke that single token (logout); rows without one
+ * revoke every token of the user issued before revokedAt (password change, deletion).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"))
+public class RevokedToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(length = 36)
+    private String jti;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+    
+    // Once this passes, the token(s) covered by the row have expired on their own
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,6 +1,11 @@
 package com.redweb.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.redweb.backend.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +14,9 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
 @Table(name = "users")
 public class User {
     
@@ -17,8 +24,8 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false)
-    private String bloodType;
+    // Null for accounts whose legacy blood type could not be read (see V7)
+    private BloodType bloodType;
     
     @Column(nullable = false)
     private double latitude;
@@ -30,8 +37,9 @@ public class User {
     @Enumerated(EnumType.STRING)
     private UserRole role;
     
-    @Column(nullable = false)
-    private String points;
+    // Balance of the user's points ledger; changed only by PointsService.award
+    @Column(nullable = false, updatable = false)
+    private int points;
     
     @Column(nullable = false)
     private boolean emergencyOptIn;
@@ -45,6 +53,8 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
     
+    // Accepted in request bodies, never written out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
     
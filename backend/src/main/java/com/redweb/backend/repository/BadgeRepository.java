@@ -1,13 +1,26 @@
 package com.redweb.backend.repository;
 
+import com.redweb.backend.config.SecondLevelCacheConfig;
 import com.redweb.backend.model.Badge;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface BadgeRepository extends JpaRepository<Badge, Long> {
+    // Badges change rarely, so both listings are served from the query cache
+    @Override
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.BADGE_QUERIES)})
+    List<Badge> findAll();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.BADGE_QUERIES)})
     List<Badge> findByPointsRequiredLessThanEqual(int points);
+
     Badge findByTitle(String title);
 }
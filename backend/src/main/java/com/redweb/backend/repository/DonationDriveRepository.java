@@ -2,7 +2,10 @@ package com.redweb.backend.repository;
 
 import com.redweb.backend.model.DonationDrive;
 import com.redweb.backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -17,4 +20,27 @@ public interface DonationDriveRepository extends JpaRepository<DonationDrive, Lo
     List<DonationDrive> findByStartDateBeforeAndEndDateAfterAndStatus(
             LocalDateTime now, LocalDateTime now2, DonationDrive.DriveStatus status);
     List<DonationDrive> findByRequiredBloodTypesContaining(String bloodType);
+
+    // Listing variants that fetch what a DonationDriveSummary reads in the same select
+    @EntityGraph(attributePaths = {"organizer", "requiredBloodTypes"})
+    @Query("SELECT d FROM DonationDrive d ORDER BY d.startDate, d.id")
+    List<DonationDrive> findAllForListing();
+
+    @EntityGraph(attributePaths = {"organizer", "requiredBloodTypes"})
+    @Query("SELECT d FROM DonationDrive d WHERE d.organizer.id = :organizerId ORDER BY d.startDate, d.id")
+    List<DonationDrive> findForListingByOrganizerId(@Param("organizerId") Long organizerId);
+
+    @EntityGraph(attributePaths = {"organizer", "requiredBloodTypes"})
+    @Query("SELECT d FROM DonationDrive d WHERE d.status = :status ORDER BY d.startDate, d.id")
+    List<DonationDrive> findForListingByStatus(@Param("status") DonationDrive.DriveStatus status);
+
+    @EntityGraph(attributePaths = {"organizer", "requiredBloodTypes"})
+    @Query("SELECT d FROM DonationDrive d WHERE d.status = :status AND d.startDate < :now AND d.endDate > :now " +
+           "ORDER BY d.startDate, d.id")
+    List<DonationDrive> findForListingRunningAt(@Param("now") LocalDateTime now,
+                                                @Param("status") DonationDrive.DriveStatus status);
+
+    @EntityGraph(attributePaths = {"organizer", "requiredBloodTypes"})
+    @Query("SELECT d FROM DonationDrive d WHERE :bloodType MEMBER OF d.requiredBloodTypes ORDER BY d.startDate, d.id")
+    List<DonationDrive> findForListingByBloodType(@Param("bloodType") String bloodType);
 }
@@ -1,22 +1,65 @@
 package com.redweb.backend.repository;
 
+import com.redweb.backend.dto.summary.DonationSummary;
+import com.redweb.backend.model.BloodType;
 import com.redweb.backend.model.Donation;
 import com.redweb.backend.model.DonationDrive;
 import com.redweb.backend.model.EmergencyRequest;
 import com.redweb.backend.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DonationRepository extends JpaRepository<Donation, Long> {
+    // Listings select just the summary columns, joined in the same statement
+    String SUMMARY = "SELECT new com.redweb.backend.dto.summary.DonationSummary(d.id, u.id, " +
+                     "CONCAT(u.firstName, ' ', u.lastName), dr.id, dr.title, er.id, d.donationDate, d.bloodType, " +
+                     "d.units, d.pointsAwarded, d.status, d.createdAt) " +
+                     "FROM Donation d JOIN d.donor u LEFT JOIN d.drive dr LEFT JOIN d.emergencyRequest er ";
+    String NEWEST_FIRST = " ORDER BY d.createdAt DESC, d.id DESC";
+
     List<Donation> findByDonor(User donor);
     List<Donation> findByDrive(DonationDrive drive);
     List<Donation> findByEmergencyRequest(EmergencyRequest request);
     List<Donation> findByStatus(Donation.DonationStatus status);
     List<Donation> findByDonorAndStatus(User donor, Donation.DonationStatus status);
     List<Donation> findByDonationDateBetween(LocalDateTime start, LocalDateTime end);
-    List<Donation> findByBloodType(String bloodType);
+    List<Donation> findByBloodType(BloodType bloodType);
+
+    // Everything a single donation is rendered with
+    @EntityGraph(attributePaths = {"donor", "drive", "drive.organizer", "emergencyRequest", "emergencyRequest.patient"})
+    Optional<Donation> findWithAssociationsById(Long id);
+
+    @Query(SUMMARY + "WHERE d.donor.id = :donorId" + NEWEST_FIRST)
+    List<DonationSummary> findSummariesByDonorId(@Param("donorId") Long donorId);
+
+    @Query(SUMMARY + "WHERE d.drive.id = :driveId" + NEWEST_FIRST)
+    List<DonationSummary> findSummariesByDriveId(@Param("driveId") Long driveId);
+
+    @Query(SUMMARY + "WHERE d.emergencyRequest.id = :requestId" + NEWEST_FIRST)
+    List<DonationSummary> findSummariesByEmergencyRequestId(@Param("requestId") Long requestId);
+
+    @Query(SUMMARY + "WHERE d.status = :status" + NEWEST_FIRST)
+    List<DonationSummary> findSummariesByStatus(@Param("status") Donation.DonationStatus status);
+
+    @Query(SUMMARY + "WHERE d.bloodType = :bloodType" + NEWEST_FIRST)
+    List<DonationSummary> findSummariesByBloodType(@Param("bloodType") BloodType bloodType);
+
+    // Keyset pagination, newest first. The predicate opens with a plain range on createdAt so the
+    // page is read off the (created_at, id) index rather than by testing every row
+    @Query(SUMMARY + NEWEST_FIRST)
+    Slice<DonationSummary> findSummaryPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE d.createdAt <= :createdAt AND (d.createdAt < :createdAt OR d.id < :id)" + NEWEST_FIRST)
+    Slice<DonationSummary> findSummaryPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                 Pageable pageable);
 }
@@ -1,18 +1,91 @@
 package com.redweb.backend.repository;
 
+import com.redweb.backend.dto.summary.EmergencyRequestCard;
+import com.redweb.backend.dto.summary.EmergencyRequestSummary;
+import com.redweb.backend.model.BloodType;
 import com.redweb.backend.model.EmergencyRequest;
 import com.redweb.backend.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EmergencyRequestRepository extends JpaRepository<EmergencyRequest, Long> {
+    String SUMMARY = "SELECT new com.redweb.backend.dto.summary.EmergencyRequestSummary(r.id, p.id, " +
+                     "CONCAT(p.firstName, ' ', p.lastName), r.bloodType, r.unitsNeeded, r.unitsCollected, " +
+                     "r.latitude, r.longitude, r.status, r.urgencyLevel, r.notes, r.createdAt) " +
+                     "FROM EmergencyRequest r JOIN r.patient p ";
+    // Only the request's own columns; the patient table is not touched
+    String CARD = "SELECT new com.redweb.backend.dto.summary.EmergencyRequestCard(r.id, r.bloodType, " +
+                  "r.unitsNeeded, r.latitude, r.longitude, r.urgencyLevel, r.notes, r.createdAt) " +
+                  "FROM EmergencyRequest r ";
+    String NEWEST_FIRST = " ORDER BY r.createdAt DESC, r.id DESC";
+
     List<EmergencyRequest> findByPatient(User patient);
     List<EmergencyRequest> findByStatus(EmergencyRequest.RequestStatus status);
     List<EmergencyRequest> findByUrgencyLevel(EmergencyRequest.UrgencyLevel urgencyLevel);
-    List<EmergencyRequest> findByBloodType(String bloodType);
-    List<EmergencyRequest> findByStatusAndBloodType(EmergencyRequest.RequestStatus status, String bloodType);
+    List<EmergencyRequest> findByBloodType(BloodType bloodType);
+    List<EmergencyRequest> findByStatusAndBloodType(EmergencyRequest.RequestStatus status, BloodType bloodType);
     List<EmergencyRequest> findByStatusAndUrgencyLevel(EmergencyRequest.RequestStatus status, EmergencyRequest.UrgencyLevel urgencyLevel);
+
+    @EntityGraph(attributePaths = "patient")
+    Optional<EmergencyRequest> findWithPatientById(Long id);
+
+    @Query("SELECT r.patient.id FROM EmergencyRequest r WHERE r.id = :id")
+    Optional<Long> findPatientIdById(@Param("id") Long id);
+
+    @Query(SUMMARY + "WHERE r.patient.id = :patientId" + NEWEST_FIRST)
+    List<EmergencyRequestSummary> findSummariesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(SUMMARY + "WHERE r.bloodType = :bloodType" + NEWEST_FIRST)
+    List<EmergencyRequestSummary> findSummariesByBloodType(@Param("bloodType") BloodType bloodType);
+
+    @Query(CARD + "WHERE r.status = :status" + NEWEST_FIRST)
+    List<EmergencyRequestCard> findCardsByStatus(@Param("status") EmergencyRequest.RequestStatus status);
+
+    @Query(CARD + "WHERE r.status = :status AND r.bloodType = :bloodType" + NEWEST_FIRST)
+    List<EmergencyRequestCard> findCardsByStatusAndBloodType(@Param("status") EmergencyRequest.RequestStatus status,
+                                                             @Param("bloodType") BloodType bloodType);
+
+    @Query(SUMMARY + "WHERE r.urgencyLevel = :urgencyLevel" + NEWEST_FIRST)
+    List<EmergencyRequestSummary> findSummariesByUrgencyLevel(@Param("urgencyLevel") EmergencyRequest.UrgencyLevel urgencyLevel);
+
+    // Keyset pagination, newest first
+    @Query(SUMMARY + NEWEST_FIRST)
+    Slice<EmergencyRequestSummary> findSummaryPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id)" + NEWEST_FIRST)
+    Slice<EmergencyRequestSummary> findSummaryPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                         Pageable pageable);
+
+    // Adds donated units while the request is still active; returns 0 if it no longer accepts donations
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EmergencyRequest r SET r.unitsCollected = r.unitsCollected + :units, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = com.redweb.backend.model.EmergencyRequest$RequestStatus.ACTIVE")
+    int addUnitsCollectedIfActive(@Param("id") Long id, @Param("units") double units, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EmergencyRequest r SET r.unitsCollected = r.unitsCollected + :delta, r.updatedAt = :now WHERE r.id = :id")
+    int adjustUnitsCollected(@Param("id") Long id, @Param("delta") double delta, @Param("now") LocalDateTime now);
+
+    // Flips an active request to FULFILLED once enough units are in; only one caller ever gets 1 back
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EmergencyRequest r SET r.status = com.redweb.backend.model.EmergencyRequest$RequestStatus.FULFILLED, " +
+           "r.updatedAt = :now WHERE r.id = :id " +
+           "AND r.status = com.redweb.backend.model.EmergencyRequest$RequestStatus.ACTIVE " +
+           "AND r.unitsCollected >= r.unitsNeeded")
+    int markFulfilledIfComplete(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
@@ -1,19 +1,48 @@
 package com.redweb.backend.repository;
 
+import com.redweb.backend.dto.summary.EmergencyResponseSummary;
 import com.redweb.backend.model.EmergencyRequest;
 import com.redweb.backend.model.EmergencyResponse;
 import com.redweb.backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EmergencyResponseRepository extends JpaRepository<EmergencyResponse, Long> {
+    String SUMMARY = "SELECT new com.redweb.backend.dto.summary.EmergencyResponseSummary(r.id, r.request.id, d.id, " +
+                     "CONCAT(d.firstName, ' ', d.lastName), r.status, r.estimatedArrivalTime, r.currentLatitude, " +
+                     "r.currentLongitude, r.createdAt) FROM EmergencyResponse r JOIN r.donor d ";
+    String NEWEST_FIRST = " ORDER BY r.createdAt DESC, r.id DESC";
+
     List<EmergencyResponse> findByDonor(User donor);
     List<EmergencyResponse> findByRequest(EmergencyRequest request);
     List<EmergencyResponse> findByStatus(EmergencyResponse.ResponseStatus status);
     List<EmergencyResponse> findByDonorAndStatus(User donor, EmergencyResponse.ResponseStatus status);
     List<EmergencyResponse> findByRequestAndStatus(EmergencyRequest request, EmergencyResponse.ResponseStatus status);
     List<EmergencyResponse> findByDonorAndRequest(User donor, EmergencyRequest request);
+
+    @EntityGraph(attributePaths = {"request", "request.patient", "donor"})
+    Optional<EmergencyResponse> findWithAssociationsById(Long id);
+
+    // The request's location is the destination a responder's ETA is measured to
+    @EntityGraph(attributePaths = "request")
+    Optional<EmergencyResponse> findWithRequestById(Long id);
+
+    @Query(SUMMARY + NEWEST_FIRST)
+    List<EmergencyResponseSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE r.donor.id = :donorId" + NEWEST_FIRST)
+    List<EmergencyResponseSummary> findSummariesByDonorId(@Param("donorId") Long donorId);
+
+    @Query(SUMMARY + "WHERE r.request.id = :requestId" + NEWEST_FIRST)
+    List<EmergencyResponseSummary> findSummariesByRequestId(@Param("requestId") Long requestId);
+
+    @Query(SUMMARY + "WHERE r.status = :status" + NEWEST_FIRST)
+    List<EmergencyResponseSummary> findSummariesByStatus(@Param("status") EmergencyResponse.ResponseStatus status);
 }
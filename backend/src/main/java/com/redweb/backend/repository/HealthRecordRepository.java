@@ -2,7 +2,10 @@ package com.redweb.backend.repository;
 
 import com.redweb.backend.model.HealthRecord;
 import com.redweb.backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -12,6 +15,20 @@ import java.util.List;
 @Repository
 public interface HealthRecordRepository extends JpaRepository<HealthRecord, Long> {
     Optional<HealthRecord> findByUser(User user);
+
+    // Loads the record and its user in one select
+    @Query("SELECT h FROM HealthRecord h JOIN FETCH h.user WHERE h.user.id = :userId")
+    Optional<HealthRecord> findByUserIdWithUser(@Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<HealthRecord> findWithUserById(Long id);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT h FROM HealthRecord h")
+    List<HealthRecord> findAllWithUser();
+
     List<HealthRecord> findByNextEligibleDateBefore(LocalDate date);
+
+    @EntityGraph(attributePaths = "user")
     List<HealthRecord> findByNextEligibleDateBeforeAndUser_Role(LocalDate date, User.UserRole role);
 }
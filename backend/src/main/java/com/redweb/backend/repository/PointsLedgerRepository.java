@@ -0,0 +1,33 @@
+package com.redweb.backend.repository;
+
+import com.redweb.backend.model.PointsLedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+    List<PointsLedgerEntry> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(e.points), 0) FROM PointsLedgerEntry e WHERE e.userId = :userId")
+    long sumPointsByUserId(@Param("userId") Long userId);
+
+    // Gives balances that were seeded directly an entry to start from, as V6 did for older ones
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "points_ledger"))
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO points_ledger (user_id, points, reason, reference_id, created_at) " +
+                   "SELECT u.id, u.points, 'OPENING_BALANCE', NULL, CURRENT_TIMESTAMP FROM users u " +
+                   "WHERE u.points <> 0 AND NOT EXISTS (SELECT 1 FROM points_ledger l WHERE l.user_id = u.id)",
+           nativeQuery = true)
+    int insertOpeningBalances();
+}
@@ -0,0 +1,21 @@
+package com.redweb.backend.repository;
+
+import com.redweb.backend.model.ResponderLocationPoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ResponderLocationPointRepository extends JpaRepository<ResponderLocationPoint, Long> {
+    List<ResponderLocationPoint> findByResponseIdOrderByRecordedAtAsc(Long responseId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ResponderLocationPoint p WHERE p.responseId = :responseId")
+    int deleteByResponseId(@Param("responseId") Long responseId);
+}
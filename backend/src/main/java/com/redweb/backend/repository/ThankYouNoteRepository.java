@@ -1,17 +1,46 @@
 package com.redweb.backend.repository;
 
+import com.redweb.backend.dto.summary.ThankYouNoteSummary;
 import com.redweb.backend.model.Donation;
 import com.redweb.backend.model.ThankYouNote;
 import com.redweb.backend.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ThankYouNoteRepository extends JpaRepository<ThankYouNote, Long> {
+    String SUMMARY = "SELECT new com.redweb.backend.dto.summary.ThankYouNoteSummary(n.id, d.id, " +
+                     "CONCAT(d.firstName, ' ', d.lastName), p.id, CONCAT(p.firstName, ' ', p.lastName), " +
+                     "n.donation.id, n.message, n.isAnonymous, n.createdAt) " +
+                     "FROM ThankYouNote n JOIN n.donor d JOIN n.patient p ";
+    String NEWEST_FIRST = " ORDER BY n.createdAt DESC, n.id DESC";
+
     List<ThankYouNote> findByDonor(User donor);
     List<ThankYouNote> findByPatient(User patient);
     List<ThankYouNote> findByDonation(Donation donation);
     boolean existsByDonationAndPatient(Donation donation, User patient);
+
+    // The note with its donation as a single donation is rendered
+    @EntityGraph(attributePaths = {"donor", "patient", "donation", "donation.donor", "donation.drive",
+                                   "donation.drive.organizer", "donation.emergencyRequest",
+                                   "donation.emergencyRequest.patient"})
+    Optional<ThankYouNote> findWithAssociationsById(Long id);
+
+    @Query(SUMMARY + NEWEST_FIRST)
+    List<ThankYouNoteSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE d.id = :donorId" + NEWEST_FIRST)
+    List<ThankYouNoteSummary> findSummariesByDonorId(@Param("donorId") Long donorId);
+
+    @Query(SUMMARY + "WHERE p.id = :patientId" + NEWEST_FIRST)
+    List<ThankYouNoteSummary> findSummariesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(SUMMARY + "WHERE n.donation.id = :donationId" + NEWEST_FIRST)
+    List<ThankYouNoteSummary> findSummariesByDonationId(@Param("donationId") Long donationId);
 }
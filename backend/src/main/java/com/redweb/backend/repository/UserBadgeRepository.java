@@ -1,18 +1,77 @@
 package com.redweb.backend.repository;
 
+import com.redweb.backend.dto.summary.UserBadgeSummary;
 import com.redweb.backend.model.Badge;
 import com.redweb.backend.model.User;
 import com.redweb.backend.model.UserBadge;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserBadgeRepository extends JpaRepository<UserBadge, Long> {
+    String SUMMARY = "SELECT new com.redweb.backend.dto.summary.UserBadgeSummary(ub.id, u.id, " +
+                     "CONCAT(u.firstName, ' ', u.lastName), b.id, b.title, ub.awardedAt) " +
+                     "FROM UserBadge ub JOIN ub.user u JOIN ub.badge b ";
+    String NEWEST_FIRST = " ORDER BY ub.awardedAt DESC, ub.id DESC";
+
+    @EntityGraph(attributePaths = "badge")
     List<UserBadge> findByUser(User user);
     List<UserBadge> findByBadge(Badge badge);
     boolean existsByUserAndBadge(User user, Badge badge);
     Optional<UserBadge> findByUserAndBadge(User user, Badge badge);
+
+    @Query(SUMMARY + "WHERE u.id = :userId" + NEWEST_FIRST)
+    List<UserBadgeSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    // Keyset pagination over a badge's holders, most recently awarded first
+    @Query(SUMMARY + "WHERE b.id = :badgeId" + NEWEST_FIRST)
+    Slice<UserBadgeSummary> findSummaryPageByBadgeId(@Param("badgeId") Long badgeId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE b.id = :badgeId AND " +
+           "(ub.awardedAt < :awardedAt OR (ub.awardedAt = :awardedAt AND ub.id < :id))" + NEWEST_FIRST)
+    Slice<UserBadgeSummary> findSummaryPageByBadgeIdBefore(@Param("badgeId") Long badgeId,
+                                                           @Param("awardedAt") LocalDateTime awardedAt,
+                                                           @Param("id") Long id, Pageable pageable);
+
+    // Awards the given badges to a user in one statement, skipping those already held. A
+    // concurrent award of the same badge hits the (user_id, badge_id) unique key, and the
+    // no-op update keeps the first award instead of failing or adding a second row
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_badges"))
+    @Modifying
+    @Query(value = "INSERT INTO user_badges (user_id, badge_id, awarded_at) " +
+                   "SELECT :userId, b.id, :now FROM badges b " +
+                   "LEFT JOIN user_badges ub ON ub.user_id = :userId AND ub.badge_id = b.id " +
+                   "WHERE b.id IN (:badgeIds) AND ub.id IS NULL " +
+                   "ON DUPLICATE KEY UPDATE awarded_at = user_badges.awarded_at",
+           nativeQuery = true)
+    int awardMissing(@Param("userId") Long userId, @Param("badgeIds") Collection<Long> badgeIds,
+                     @Param("now") LocalDateTime now);
+
+    // Awards every badge within reach of their balance to the users in (fromId, toId];
+    // idempotent in the same way as awardMissing
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_badges"))
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO user_badges (user_id, badge_id, awarded_at) " +
+                   "SELECT u.id, b.id, :now FROM users u JOIN badges b ON b.points_required <= u.points " +
+                   "LEFT JOIN user_badges ub ON ub.user_id = u.id AND ub.badge_id = b.id " +
+                   "WHERE u.id > :fromId AND u.id <= :toId AND ub.id IS NULL " +
+                   "ON DUPLICATE KEY UPDATE awarded_at = user_badges.awarded_at",
+           nativeQuery = true)
+    int awardAllEligible(@Param("fromId") long fromId, @Param("toId") long toId, @Param("now") LocalDateTime now);
 }
@@ -1,21 +1,78 @@
 package com.redweb.backend.repository;
 
+import com.redweb.backend.config.SecondLevelCacheConfig;
+import com.redweb.backend.model.BloodType;
 import com.redweb.backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+    // Looked up on every login. Only the id is kept in the query cache: cached rows would
+    // miss points awarded through JDBC, while the users entity region is evicted per award
+    default Optional<User> findByEmail(String email) {
+        return findIdByEmail(email).flatMap(this::findById);
+    }
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_BY_EMAIL)})
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Query("SELECT u.points FROM User u WHERE u.id = :id")
+    int findPointsById(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
+
+    // Just what the leaderboard needs, without loading whole users
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.points AS points " +
+           "FROM User u WHERE u.role = :role")
+    List<PointsStanding> findPointsStandingsByRole(@Param("role") User.UserRole role);
+
+    interface PointsStanding {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        int getPoints();
+    }
+
     boolean existsByEmail(String email);
     List<User> findByRole(User.UserRole role);
-    List<User> findByBloodType(String bloodType);
+    List<User> findByBloodType(BloodType bloodType);
     
     @Query("SELECT u FROM User u WHERE u.emergencyOptIn = :optIn AND u.role = :role")
     List<User> findByEmergencyOptInAndRole(@Param("optIn") boolean emergencyOptIn, @Param("role") User.UserRole role);
+
+    @Query("SELECT u FROM User u WHERE u.emergencyOptIn = :optIn AND u.role = :role AND u.bloodType IN :bloodTypes")
+    List<User> findByEmergencyOptInAndRoleAndBloodTypeIn(@Param("optIn") boolean emergencyOptIn,
+                                                         @Param("role") User.UserRole role,
+                                                         @Param("bloodTypes") Collection<BloodType> bloodTypes);
+
+    // Keyset pagination, newest first
+    Slice<User> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    Slice<User> findByRoleOrderByCreatedAtDescIdDesc(User.UserRole role, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.role = :role AND " +
+           "u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findPageByRoleBefore(@Param("role") User.UserRole role, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable pageable);
 }
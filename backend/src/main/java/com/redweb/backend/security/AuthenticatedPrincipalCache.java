@@ -0,0 +1,82 @@
+package com.redweb.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache from a validated JWT to the principal it authenticates. A hit skips
+ * signature verification and the user lookup. Entries are keyed by a SHA-256 of the token,
+ * never outlive the token itself, and are dropped when the user is updated or deleted.
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Cache<String, Entry> cache;
+
+    public AuthenticatedPrincipalCache(@Value("${app.auth.principalCache.maxSize:10000}") long maxSize,
+                                       @Value("${app.auth.principalCache.ttl:5m}") Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        long untilTokenExpiry = (entry.expiresAtMillis() - System.currentTimeMillis()) * 1_000_000L;
+                        return Math.max(0, Math.min(ttlNanos, untilTokenExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns the cached entry for the token, or computes it with {@code loader}.
+     * The loader returns null for tokens that do not validate, and those are not cached.
+     */
+    public Entry get(String token, Function<String, Entry> loader) {
+        return cache.get(hash(token), key -> loader.apply(token));
+    }
+
+    public void invalidateUser(Long userId) {
+        cache.asMap().values().removeIf(entry -> userId.equals(entry.principal().getId()));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA_256.get();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    public record Entry(UserPrincipal principal, String jti, long issuedAtMillis, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.redweb.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the delegate's hashing and verification on a fixed pool of worker threads, one per
+ * core by default, so a burst of logins and registrations cannot take every request thread
+ * for CPU-bound work. The caller still waits for its result, but only a bounded number of
+ * calls may queue; beyond that the call fails at once with {@link PasswordHashingBusyException}
+ * (429) instead of piling up behind the others.
+ *
+ * Each call is recorded in the given registry: redweb.password.hashing times the work and
+ * redweb.password.hashing.wait the time spent queued for a worker, both tagged with the
+ * operation, next to a counter of rejected calls and gauges of the pool's load.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor workers;
+    private final Operation hashing;
+    private final Operation verifying;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueSize, MeterRegistry registry) {
+        this.delegate = delegate;
+        AtomicInteger count = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.hashing = new Operation(registry, "hash");
+        this.verifying = new Operation(registry, "verify");
+        this.rejected = Counter.builder("redweb.password.hashing.rejected")
+                .description("Password hashing calls turned away because the queue was full")
+                .register(registry);
+        Gauge.builder("redweb.password.hashing.active", workers, ThreadPoolExecutor::getActiveCount).register(registry);
+        Gauge.builder("redweb.password.hashing.queued", workers, pool -> pool.getQueue().size()).register(registry);
+        Gauge.builder("redweb.password.hashing.threads", workers, ThreadPoolExecutor::getMaximumPoolSize)
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(hashing, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(verifying, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Cheap: only reads the stored hash's parameters
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private <T> T run(Operation operation, Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = workers.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    operation.record(started - submitted, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Operation(Timer waited, Timer worked) {
+
+        Operation(MeterRegistry registry, String operation) {
+            this(Timer.builder("redweb.password.hashing.wait")
+                            .description("Time password hashing calls waited for a worker")
+                            .tag("operation", operation)
+                            .register(registry),
+                 Timer.builder("redweb.password.hashing")
+                            .description("Time spent hashing or verifying passwords, excluding the wait for a worker")
+                            .tag("operation", operation)
+                            .register(registry));
+        }
+
+        void record(long waitedNanos, long workedNanos) {
+            waited.record(waitedNanos, TimeUnit.NANOSECONDS);
+            worked.record(workedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
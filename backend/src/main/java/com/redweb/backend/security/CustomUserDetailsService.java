@@ -2,15 +2,20 @@ package com.redweb.backend.security;
 
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+@Timed("redweb.service")
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -33,4 +38,17 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
+
+    // Called on a successful login whose stored hash is weaker than app.auth.bcrypt.strength
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails principal, String newPassword) {
+        User user = userRepository.findByEmail(principal.getUsername())
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found with email : " + principal.getUsername()));
+        user.setPassword(newPassword);
+        user.setUpdatedAt(LocalDateTime.now());
+
+        return UserPrincipal.create(user);
+    }
 }
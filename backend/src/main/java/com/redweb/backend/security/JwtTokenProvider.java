@@ -2,31 +2,44 @@ package com.redweb.backend.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
-import java.util.logging.Logger;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
-    private static final Logger logger = Logger.getLogger(JwtTokenProvider.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLE = "role";
 
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
-    
-    private Key getSigningKey() {
+
+    // Built once at startup; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
         // Use a fixed-length key that meets the HMAC-SHA256 requirement (256 bits = 32 bytes)
         byte[] keyBytes = new byte[32];
         byte[] secretBytes = jwtSecret.getBytes();
         // Copy as many bytes as possible from the secret
         System.arraycopy(secretBytes, 0, keyBytes, 0, Math.min(secretBytes.length, keyBytes.length));
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -35,42 +48,32 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        Key key = getSigningKey();
-
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(Long.toString(userPrincipal.getId()))
-                .setIssuedAt(new Date())
+                .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .claim("role", userPrincipal.getAuthorities().iterator().next().getAuthority())
-                .signWith(key)
+                .claim(CLAIM_EMAIL, userPrincipal.getUsername())
+                .claim(CLAIM_ROLE, userPrincipal.getAuthorities().iterator().next().getAuthority())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public Long getUserIdFromJWT(String token) {
-        Key key = getSigningKey();
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return Long.parseLong(claims.getSubject());
-    }
-
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims, or null if it is invalid or expired.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Key key = getSigningKey();
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
-        } catch (MalformedJwtException ex) {
-            logger.info("Invalid JWT token");
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (MalformedJwtException | SignatureException ex) {
+            logger.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            logger.info("Expired JWT token");
+            logger.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            logger.info("Unsupported JWT token");
+            logger.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            logger.info("JWT claims string is empty");
+            logger.debug("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 }
@@ -0,0 +1,25 @@
+package com.redweb.backend.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Every password hashing worker is busy and the queue is full; answered with 429 and a
+ * Retry-After so clients back off instead of adding to the queue.
+ */
+public class PasswordHashingBusyException extends ResponseStatusException {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    public PasswordHashingBusyException() {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Too many sign-ins at the moment, please retry shortly");
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return headers;
+    }
+}
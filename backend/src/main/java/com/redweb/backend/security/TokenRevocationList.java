@@ -0,0 +1,193 @@
+package com.redweb.backend.security;
+
+import com.redweb.backend.model.RevokedToken;
+import com.redweb.backend.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Server-side list of JWTs that must no longer be accepted even though their signature and
+ * expiry are still valid. Single tokens (logout) go through a Bloom filter in front of an
+ * exact set, so the common "not revoked" answer costs a few bit probes. Per-user cutoffs
+ * (password change, deletion) reject every token issued before the cutoff.
+ *
+ * Revocations are persisted and reloaded at startup. Other instances only pick them up on
+ * their next restart.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.jwtExpirationMs}")
+    private long jwtExpirationMs;
+
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // userId -> tokens issued in an earlier second than this instant (epoch millis) are revoked
+    private final Map<Long, Long> userCutoffs = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter = new BloomFilter(BloomFilter.DEFAULT_BITS);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        for (RevokedToken row : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            if (row.getJti() != null) {
+                remember(row.getJti(), toMillis(row.getExpiresAt()));
+            } else {
+                userCutoffs.merge(row.getUserId(), toMillis(row.getRevokedAt()), Math::max);
+            }
+        }
+        logger.info("Token revocation list loaded: {} tokens, {} user cutoffs", revokedTokens.size(), userCutoffs.size());
+    }
+
+    public boolean isRevoked(String jti, Long userId, long issuedAtMillis) {
+        Long cutoff = userCutoffs.get(userId);
+        // JWT iat has second precision, so a token issued in the cutoff's own second survives;
+        // that is the user's re-login right after changing their password
+        if (cutoff != null && issuedAtMillis / 1000 < cutoff / 1000) {
+            return true;
+        }
+        return jti != null && bloomFilter.mightContain(jti) && revokedTokens.containsKey(jti);
+    }
+
+    public void revokeToken(String jti, Long userId, long expiresAtMillis) {
+        if (jti == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        remember(jti, expiresAtMillis);
+        revokedTokenRepository.save(new RevokedToken(null, jti, userId, LocalDateTime.now(), toDateTime(expiresAtMillis)));
+    }
+
+    // Revokes every token of the user issued before the current second
+    public void revokeAllForUser(Long userId) {
+        long cutoff = System.currentTimeMillis() / 1000 * 1000;
+        userCutoffs.merge(userId, cutoff, Math::max);
+        revokedTokenRepository.save(new RevokedToken(null, null, userId, toDateTime(cutoff),
+                toDateTime(cutoff + jwtExpirationMs)));
+    }
+
+    // Writers are serialized (revocations are rare); readers never lock
+    private synchronized void remember(String jti, long expiresAtMillis) {
+        revokedTokens.put(jti, expiresAtMillis);
+        bloomFilter.add(jti);
+        if (bloomFilter.count() > bloomFilter.capacity()) {
+            rebuild();
+        }
+    }
+
+    // Drops expired entries and re-sizes the filter; the exact set stays authoritative throughout
+    private void rebuild() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        userCutoffs.values().removeIf(cutoff -> cutoff + jwtExpirationMs <= now);
+
+        int bits = BloomFilter.DEFAULT_BITS;
+        while (revokedTokens.size() * 2L > bits / BloomFilter.BITS_PER_ENTRY) {
+            bits <<= 1;
+        }
+        BloomFilter rebuilt = new BloomFilter(bits);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Lock-free Bloom filter over jti strings, ~1% false positives at capacity.
+     */
+    static final class BloomFilter {
+
+        static final int DEFAULT_BITS = 1 << 20;
+        static final int BITS_PER_ENTRY = 10;
+        private static final int HASHES = 7;
+
+        private final AtomicLongArray words;
+        private final int mask;
+        private final AtomicInteger count = new AtomicInteger();
+
+        BloomFilter(int bits) {
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.mask = bits - 1;
+        }
+
+        void add(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long word;
+                long bitMask = 1L << bit;
+                do {
+                    word = words.get(bit >>> 6);
+                    if ((word & bitMask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(bit >>> 6, word, word | bitMask));
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int count() {
+            return count.get();
+        }
+
+        int capacity() {
+            return (mask + 1) / BITS_PER_ENTRY;
+        }
+
+        // FNV-1a followed by a murmur3 finalizer
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb93fe51a87c3L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
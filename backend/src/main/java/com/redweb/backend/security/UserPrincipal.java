@@ -2,6 +2,7 @@ package com.redweb.backend.security;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.redweb.backend.model.User;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -40,6 +41,22 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    // Stateless principal from a verified token; null for tokens issued before the email/role claims
+    public static UserPrincipal fromClaims(Claims claims) {
+        String email = claims.get(JwtTokenProvider.CLAIM_EMAIL, String.class);
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+        if (email == null || role == null) {
+            return null;
+        }
+
+        return new UserPrincipal(
+                Long.parseLong(claims.getSubject()),
+                email,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority(role))
+        );
+    }
+
     public Long getId() {
         return id;
     }
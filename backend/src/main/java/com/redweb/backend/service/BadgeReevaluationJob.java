@@ -0,0 +1,34 @@
+package com.redweb.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly safety net for event-driven badge awards: grants any badge a user's balance
+ * already reaches. Set app.badges.reevaluationCron to "-" to turn it off.
+ */
+@Component
+public class BadgeReevaluationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BadgeReevaluationJob.class);
+
+    private final BadgeService badgeService;
+    private final int chunkSize;
+
+    public BadgeReevaluationJob(BadgeService badgeService,
+                                @Value("${app.badges.reevaluationChunkSize:5000}") int chunkSize) {
+        this.badgeService = badgeService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${app.badges.reevaluationCron:0 30 3 * * *}")
+    public void run() {
+        long started = System.nanoTime();
+        int awarded = badgeService.reevaluateAllUsers(chunkSize);
+        logger.info("Badge re-evaluation awarded {} badges in {} ms",
+                awarded, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -1,19 +1,27 @@
 package com.redweb.backend.service;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.dto.summary.UserBadgeSummary;
 import com.redweb.backend.model.Badge;
 import com.redweb.backend.model.User;
 import com.redweb.backend.model.UserBadge;
 import com.redweb.backend.repository.BadgeRepository;
 import com.redweb.backend.repository.UserBadgeRepository;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("redweb.service")
 public class BadgeService {
 
     @Autowired
@@ -25,6 +33,9 @@ public class BadgeService {
     @Autowired
     private UserBadgeRepository userBadgeRepository;
 
+    @Autowired
+    private BadgeThresholds badgeThresholds;
+
     public List<Badge> getAllBadges() {
         return badgeRepository.findAll();
     }
@@ -36,7 +47,9 @@ public class BadgeService {
 
     public Badge createBadge(Badge badge) {
         badge.setCreatedAt(LocalDateTime.now());
-        return badgeRepository.save(badge);
+        Badge saved = badgeRepository.save(badge);
+        badgeThresholds.refresh();
+        return saved;
     }
 
     public Badge updateBadge(Long id, Badge badgeDetails) {
@@ -46,29 +59,38 @@ public class BadgeService {
         badge.setDescription(badgeDetails.getDescription());
         badge.setPointsRequired(badgeDetails.getPointsRequired());
         
-        return badgeRepository.save(badge);
+        Badge saved = badgeRepository.save(badge);
+        badgeThresholds.refresh();
+        return saved;
     }
 
     public void deleteBadge(Long id) {
         badgeRepository.deleteById(id);
+        badgeThresholds.refresh();
     }
 
     public List<Badge> getBadgesByPointsThreshold(int points) {
         return badgeRepository.findByPointsRequiredLessThanEqual(points);
     }
 
-    public List<UserBadge> getUserBadges(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        
-        return userBadgeRepository.findByUser(user);
+    public List<UserBadgeSummary> getUserBadges(Long userId) {
+        if (userRepository.findById(userId).isEmpty()) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        return userBadgeRepository.findSummariesByUserId(userId);
     }
 
-    public List<UserBadge> getUsersByBadge(Long badgeId) {
-        Badge badge = badgeRepository.findById(badgeId)
-                .orElseThrow(() -> new RuntimeException("Badge not found with id: " + badgeId));
-        
-        return userBadgeRepository.findByBadge(badge);
+    public CursorPage<UserBadgeSummary> getUsersByBadge(Long badgeId, String cursor, int size) {
+        if (badgeRepository.findById(badgeId).isEmpty()) {
+            throw new RuntimeException("Badge not found with id: " + badgeId);
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<UserBadgeSummary> slice = after == null
+                ? userBadgeRepository.findSummaryPageByBadgeId(badgeId, PageCursor.pageable(size))
+                : userBadgeRepository.findSummaryPageByBadgeIdBefore(badgeId, after.createdAt(), after.id(),
+                        PageCursor.pageable(size));
+        return CursorPage.of(slice, userBadge -> new PageCursor(userBadge.awardedAt(), userBadge.id()));
     }
 
     @Transactional
@@ -85,8 +107,7 @@ public class BadgeService {
         }
         
         // Check if user has enough points for this badge
-        int userPoints = Integer.parseInt(user.getPoints());
-        if (userPoints < badge.getPointsRequired()) {
+        if (user.getPoints() < badge.getPointsRequired()) {
             throw new RuntimeException("User does not have enough points for this badge");
         }
         
@@ -97,25 +118,41 @@ public class BadgeService {
         return userBadgeRepository.save(userBadge);
     }
 
+    // Grants every badge the user's balance reaches that they do not hold yet, in one statement
     @Transactional
-    public void checkAndAwardBadges(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        
-        int userPoints = Integer.parseInt(user.getPoints());
-        
-        // Get all badges that the user qualifies for based on points
-        List<Badge> eligibleBadges = badgeRepository.findByPointsRequiredLessThanEqual(userPoints);
-        
-        for (Badge badge : eligibleBadges) {
-            // Only award if user doesn't already have this badge
-            if (!userBadgeRepository.existsByUserAndBadge(user, badge)) {
-                UserBadge userBadge = new UserBadge();
-                userBadge.setUser(user);
-                userBadge.setBadge(badge);
-                userBadgeRepository.save(userBadge);
-            }
+    public int checkAndAwardBadges(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        return userBadgeRepository.awardAllEligible(userId - 1, userId, LocalDateTime.now());
+    }
+
+    // Runs inside the award's transaction, just before it commits, so the badge lands with
+    // the points and no second connection is taken while the award still holds its own.
+    // Only the thresholds the award carried the balance across are considered, and the
+    // common case of none costs no query at all
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    @Transactional
+    public void onPointsAwarded(PointsAwardedEvent event) {
+        List<Long> crossed = badgeThresholds.crossed(event.previousBalance(), event.balance());
+        if (!crossed.isEmpty()) {
+            userBadgeRepository.awardMissing(event.userId(), crossed, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Re-evaluates every user against every badge with set-based inserts, a chunk of user
+     * ids per transaction. Picks up badges added or lowered since users earned their
+     * points, and awards missed while a threshold cache was stale.
+     */
+    public int reevaluateAllUsers(int chunkSize) {
+        long maxId = userRepository.findMaxId();
+        LocalDateTime now = LocalDateTime.now();
+        int awarded = 0;
+        for (long fromId = 0; fromId < maxId; fromId += chunkSize) {
+            awarded += userBadgeRepository.awardAllEligible(fromId, Math.min(fromId + chunkSize, maxId), now);
         }
+        return awarded;
     }
 
     public void removeBadgeFromUser(Long userId, Long badgeId) {
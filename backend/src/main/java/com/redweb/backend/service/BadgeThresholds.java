@@ -0,0 +1,62 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.Badge;
+import com.redweb.backend.repository.BadgeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Badge ids sorted by points threshold, so working out which badges a balance change
+ * earns needs no query. Loaded on first use and replaced whenever BadgeService changes a
+ * badge. Changes made by another instance only show up here after its next refresh; the
+ * nightly re-evaluation catches any award missed meanwhile.
+ */
+@Component
+public class BadgeThresholds {
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    private volatile NavigableMap<Integer, List<Long>> badgeIdsByThreshold;
+
+    /**
+     * Ids of the badges with a threshold in (from, to], i.e. the ones a balance going from
+     * {@code from} up to {@code to} has just reached.
+     */
+    public List<Long> crossed(int from, int to) {
+        if (to <= from) {
+            return List.of();
+        }
+        Collection<List<Long>> crossed = thresholds().subMap(from, false, to, true).values();
+        if (crossed.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        crossed.forEach(ids::addAll);
+        return ids;
+    }
+
+    public void refresh() {
+        NavigableMap<Integer, List<Long>> thresholds = new TreeMap<>();
+        for (Badge badge : badgeRepository.findAll()) {
+            thresholds.computeIfAbsent(badge.getPointsRequired(), points -> new ArrayList<>()).add(badge.getId());
+        }
+        badgeIdsByThreshold = Collections.unmodifiableNavigableMap(thresholds);
+    }
+
+    private NavigableMap<Integer, List<Long>> thresholds() {
+        NavigableMap<Integer, List<Long>> thresholds = badgeIdsByThreshold;
+        if (thresholds == null) {
+            refresh();
+            thresholds = badgeIdsByThreshold;
+        }
+        return thresholds;
+    }
+}
@@ -1,16 +1,22 @@
 package com.redweb.backend.service;
 
+import com.redweb.backend.dto.summary.DonationDriveSummary;
 import com.redweb.backend.model.DonationDrive;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.DonationDriveRepository;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("redweb.service")
 public class DonationDriveService {
 
     @Autowired
@@ -19,8 +25,14 @@ public class DonationDriveService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<DonationDrive> getAllDonationDrives() {
-        return donationDriveRepository.findAll();
+    @Autowired
+    private DriveCapacityReservation driveCapacityReservation;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<DonationDriveSummary> getAllDonationDrives() {
+        return summarize(donationDriveRepository.findAllForListing());
     }
 
     public DonationDrive getDonationDriveById(Long id) {
@@ -28,25 +40,28 @@ public class DonationDriveService {
                 .orElseThrow(() -> new RuntimeException("Donation drive not found with id: " + id));
     }
 
-    public List<DonationDrive> getDonationDrivesByOrganizer(Long organizerId) {
-        User organizer = userRepository.findById(organizerId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + organizerId));
-        
-        return donationDriveRepository.findByOrganizer(organizer);
+    public List<DonationDriveSummary> getDonationDrivesByOrganizer(Long organizerId) {
+        if (userRepository.findById(organizerId).isEmpty()) {
+            throw new RuntimeException("User not found with id: " + organizerId);
+        }
+        return summarize(donationDriveRepository.findForListingByOrganizerId(organizerId));
     }
 
-    public List<DonationDrive> getActiveDonationDrives() {
-        LocalDateTime now = LocalDateTime.now();
-        return donationDriveRepository.findByStartDateBeforeAndEndDateAfterAndStatus(
-                now, now, DonationDrive.DriveStatus.ACTIVE);
+    public List<DonationDriveSummary> getActiveDonationDrives() {
+        return summarize(donationDriveRepository.findForListingRunningAt(
+                LocalDateTime.now(), DonationDrive.DriveStatus.ACTIVE));
+    }
+
+    public List<DonationDriveSummary> getUpcomingDonationDrives() {
+        return summarize(donationDriveRepository.findForListingByStatus(DonationDrive.DriveStatus.UPCOMING));
     }
 
-    public List<DonationDrive> getUpcomingDonationDrives() {
-        return donationDriveRepository.findByStatus(DonationDrive.DriveStatus.UPCOMING);
+    public List<DonationDriveSummary> getDonationDrivesByBloodType(String bloodType) {
+        return summarize(donationDriveRepository.findForListingByBloodType(bloodType));
     }
 
-    public List<DonationDrive> getDonationDrivesByBloodType(String bloodType) {
-        return donationDriveRepository.findByRequiredBloodTypesContaining(bloodType);
+    private static List<DonationDriveSummary> summarize(List<DonationDrive> drives) {
+        return drives.stream().map(DonationDriveSummary::of).toList();
     }
 
     public DonationDrive createDonationDrive(Long organizerId, DonationDrive donationDrive) {
@@ -85,7 +100,9 @@ public class DonationDriveService {
         donationDrive.setStatus(donationDriveDetails.getStatus());
         donationDrive.setUpdatedAt(LocalDateTime.now());
         
-        return donationDriveRepository.save(donationDrive);
+        DonationDrive saved = donationDriveRepository.save(donationDrive);
+        driveCapacityReservation.invalidate(id);
+        return saved;
     }
 
     public DonationDrive updateDonationDriveStatus(Long id, DonationDrive.DriveStatus status) {
@@ -95,31 +112,25 @@ public class DonationDriveService {
         return donationDriveRepository.save(donationDrive);
     }
 
+    @Transactional
     public DonationDrive incrementCurrentDonors(Long id) {
         DonationDrive donationDrive = getDonationDriveById(id);
-        
-        if (donationDrive.getCurrentDonors() >= donationDrive.getMaxCapacity()) {
-            throw new RuntimeException("Donation drive has reached its maximum capacity");
-        }
-        
-        donationDrive.setCurrentDonors(donationDrive.getCurrentDonors() + 1);
-        donationDrive.setUpdatedAt(LocalDateTime.now());
-        
-        return donationDriveRepository.save(donationDrive);
+        driveCapacityReservation.reserve(donationDrive);
+        entityManager.refresh(donationDrive);
+        return donationDrive;
     }
 
+    @Transactional
     public DonationDrive decrementCurrentDonors(Long id) {
         DonationDrive donationDrive = getDonationDriveById(id);
-        
-        if (donationDrive.getCurrentDonors() > 0) {
-            donationDrive.setCurrentDonors(donationDrive.getCurrentDonors() - 1);
-            donationDrive.setUpdatedAt(LocalDateTime.now());
+        if (driveCapacityReservation.release(id)) {
+            entityManager.refresh(donationDrive);
         }
-        
-        return donationDriveRepository.save(donationDrive);
+        return donationDrive;
     }
 
     public void deleteDonationDrive(Long id) {
         donationDriveRepository.deleteById(id);
+        driveCapacityReservation.invalidate(id);
     }
 }
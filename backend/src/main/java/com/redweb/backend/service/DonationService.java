@@ -1,14 +1,24 @@
 package com.redweb.backend.service;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.dto.summary.DonationSummary;
+import com.redweb.backend.model.BloodType;
 import com.redweb.backend.model.Donation;
 import com.redweb.backend.model.DonationDrive;
 import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.HealthRecord;
+import com.redweb.backend.model.PointsLedgerEntry;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.DonationDriveRepository;
 import com.redweb.backend.repository.DonationRepository;
 import com.redweb.backend.repository.EmergencyRequestRepository;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +26,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("redweb.service")
 public class DonationService {
 
     @Autowired
@@ -34,42 +45,54 @@ public class DonationService {
     private HealthRecordService healthRecordService;
 
     @Autowired
-    private UserService userService;
+    private PointsService pointsService;
 
-    public List<Donation> getAllDonations() {
-        return donationRepository.findAll();
+    @Autowired
+    private DriveCapacityReservation driveCapacityReservation;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CursorPage<DonationSummary> getDonationsPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<DonationSummary> slice = after == null
+                ? donationRepository.findSummaryPage(PageCursor.pageable(size))
+                : donationRepository.findSummaryPageBefore(after.createdAt(), after.id(), PageCursor.pageable(size));
+        return CursorPage.of(slice, donation -> new PageCursor(donation.createdAt(), donation.id()));
     }
 
     public Donation getDonationById(Long id) {
-        return donationRepository.findById(id)
+        return donationRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Donation not found with id: " + id));
     }
 
-    public List<Donation> getDonationsByDonor(Long donorId) {
-        User donor = userRepository.findById(donorId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + donorId));
-        
-        return donationRepository.findByDonor(donor);
+    public List<DonationSummary> getDonationsByDonor(Long donorId) {
+        if (userRepository.findById(donorId).isEmpty()) {
+            throw new RuntimeException("User not found with id: " + donorId);
+        }
+        return donationRepository.findSummariesByDonorId(donorId);
     }
 
-    public List<Donation> getDonationsByDrive(Long driveId) {
-        DonationDrive drive = donationDriveRepository.findById(driveId)
-                .orElseThrow(() -> new RuntimeException("Donation drive not found with id: " + driveId));
-        
-        return donationRepository.findByDrive(drive);
+    public List<DonationSummary> getDonationsByDrive(Long driveId) {
+        if (donationDriveRepository.findById(driveId).isEmpty()) {
+            throw new RuntimeException("Donation drive not found with id: " + driveId);
+        }
+        return donationRepository.findSummariesByDriveId(driveId);
     }
 
-    public List<Donation> getDonationsByEmergencyRequest(Long requestId) {
-        EmergencyRequest request = emergencyRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Emergency request not found with id: " + requestId));
-        
-        return donationRepository.findByEmergencyRequest(request);
+    public List<DonationSummary> getDonationsByEmergencyRequest(Long requestId) {
+        if (!emergencyRequestRepository.existsById(requestId)) {
+            throw new RuntimeException("Emergency request not found with id: " + requestId);
+        }
+        return donationRepository.findSummariesByEmergencyRequestId(requestId);
     }
 
     @Transactional
     public Donation createDriveDonation(Long donorId, Long driveId, Donation donation) {
-        User donor = userRepository.findById(donorId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + donorId));
+        // Donor and health record come back in one select and are only changed in memory;
+        // both updates go out together when the transaction flushes
+        HealthRecord healthRecord = healthRecordService.getHealthRecordWithUser(donorId);
+        User donor = healthRecord.getUser();
         
         DonationDrive drive = donationDriveRepository.findById(driveId)
                 .orElseThrow(() -> new RuntimeException("Donation drive not found with id: " + driveId));
@@ -79,11 +102,6 @@ public class DonationService {
             throw new RuntimeException("Donation drive is not active");
         }
         
-        // Check if drive has reached capacity
-        if (drive.getCurrentDonors() >= drive.getMaxCapacity()) {
-            throw new RuntimeException("Donation drive has reached its maximum capacity");
-        }
-        
         donation.setDonor(donor);
         donation.setDrive(drive);
         donation.setEmergencyRequest(null);
@@ -100,24 +118,25 @@ public class DonationService {
             donation.setStatus(Donation.DonationStatus.COMPLETED);
         }
         
-        // Increment current donors in the drive
-        drive.setCurrentDonors(drive.getCurrentDonors() + 1);
-        donationDriveRepository.save(drive);
-        
         // Update health record with last donation date
-        healthRecordService.updateLastDonation(donorId, donation.getDonationDate().toLocalDate());
+        healthRecordService.recordDonation(healthRecord, donation.getDonationDate().toLocalDate());
+        
+        // Take the drive slot last so the row lock is held only until commit
+        driveCapacityReservation.reserve(drive);
+        
+        Donation saved = donationRepository.save(donation);
         
         // Award points to donor
         int pointsToAward = 100; // Base points for a donation
-        userService.addUserPoints(donorId, pointsToAward);
+        pointsService.award(donor, pointsToAward, PointsLedgerEntry.Reason.DRIVE_DONATION, saved.getId());
         
-        return donationRepository.save(donation);
+        return saved;
     }
 
     @Transactional
     public Donation createEmergencyDonation(Long donorId, Long requestId, Donation donation) {
-        User donor = userRepository.findById(donorId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + donorId));
+        HealthRecord healthRecord = healthRecordService.getHealthRecordWithUser(donorId);
+        User donor = healthRecord.getUser();
         
         EmergencyRequest request = emergencyRequestRepository.findById(requestId)
                 .orElseThrow(() -> new RuntimeException("Emergency request not found with id: " + requestId));
@@ -143,26 +162,24 @@ public class DonationService {
             donation.setStatus(Donation.DonationStatus.COMPLETED);
         }
         
-        // Check if this fulfills the emergency request
-        List<Donation> existingDonations = donationRepository.findByEmergencyRequest(request);
-        double totalUnitsDonated = existingDonations.stream()
-                .mapToDouble(Donation::getUnits)
-                .sum() + donation.getUnits();
-        
-        if (totalUnitsDonated >= request.getUnitsNeeded()) {
-            request.setStatus(EmergencyRequest.RequestStatus.FULFILLED);
-            emergencyRequestRepository.save(request);
-        }
-        
         // Update health record with last donation date
-        healthRecordService.updateLastDonation(donorId, donation.getDonationDate().toLocalDate());
+        healthRecordService.recordDonation(healthRecord, donation.getDonationDate().toLocalDate());
         
         // Award points to donor - emergency donations get more points
         int urgencyBonus = getUrgencyBonus(request.getUrgencyLevel());
         int pointsToAward = 150 + urgencyBonus; // Base points for emergency + urgency bonus
-        userService.addUserPoints(donorId, pointsToAward);
         
-        return donationRepository.save(donation);
+        // Add to the request's running total; a concurrent donation may have fulfilled it meanwhile
+        if (emergencyRequestRepository.addUnitsCollectedIfActive(requestId, donation.getUnits(), LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Emergency request is not active");
+        }
+        emergencyRequestRepository.markFulfilledIfComplete(requestId, LocalDateTime.now());
+        entityManager.refresh(request);
+        
+        Donation saved = donationRepository.save(donation);
+        pointsService.award(donor, pointsToAward, PointsLedgerEntry.Reason.EMERGENCY_DONATION, saved.getId());
+        
+        return saved;
     }
     
     private int getUrgencyBonus(EmergencyRequest.UrgencyLevel level) {
@@ -174,9 +191,18 @@ public class DonationService {
         };
     }
 
+    @Transactional
     public Donation updateDonation(Long id, Donation donationDetails) {
         Donation donation = getDonationById(id);
         
+        double unitsDelta = donationDetails.getUnits() - donation.getUnits();
+        if (donation.getEmergencyRequest() != null && unitsDelta != 0) {
+            Long requestId = donation.getEmergencyRequest().getId();
+            emergencyRequestRepository.adjustUnitsCollected(requestId, unitsDelta, LocalDateTime.now());
+            emergencyRequestRepository.markFulfilledIfComplete(requestId, LocalDateTime.now());
+            entityManager.refresh(donation.getEmergencyRequest());
+        }
+        
         donation.setBloodType(donationDetails.getBloodType());
         donation.setUnits(donationDetails.getUnits());
         donation.setPointsAwarded(donationDetails.getPointsAwarded());
@@ -193,15 +219,22 @@ public class DonationService {
         return donationRepository.save(donation);
     }
 
+    @Transactional
     public void deleteDonation(Long id) {
-        donationRepository.deleteById(id);
+        donationRepository.findById(id).ifPresent(donation -> {
+            if (donation.getEmergencyRequest() != null) {
+                emergencyRequestRepository.adjustUnitsCollected(donation.getEmergencyRequest().getId(),
+                        -donation.getUnits(), LocalDateTime.now());
+            }
+            donationRepository.delete(donation);
+        });
     }
 
-    public List<Donation> getDonationsByStatus(Donation.DonationStatus status) {
-        return donationRepository.findByStatus(status);
+    public List<DonationSummary> getDonationsByStatus(Donation.DonationStatus status) {
+        return donationRepository.findSummariesByStatus(status);
     }
 
-    public List<Donation> getDonationsByBloodType(String bloodType) {
-        return donationRepository.findByBloodType(bloodType);
+    public List<DonationSummary> getDonationsByBloodType(BloodType bloodType) {
+        return donationRepository.findSummariesByBloodType(bloodType);
     }
 }
@@ -0,0 +1,156 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.util.GeoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index of emergency opted-in donors, used to answer
+ * radius-bounded, nearest-first donor searches without scanning the users table.
+ */
+@Component
+public class DonorSpatialIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonorSpatialIndex.class);
+
+    // Grid cell size in degrees (~5.5 km of latitude)
+    private static final double CELL_DEGREES = 0.05;
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, DonorLocation> donorsById = new ConcurrentHashMap<>();
+
+    private final Map<Long, Map<Long, DonorLocation>> cells = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<User> donors = userRepository.findByEmergencyOptInAndRole(true, User.UserRole.DONOR);
+        donorsById.clear();
+        cells.clear();
+        donors.forEach(this::update);
+        logger.info("Donor spatial index loaded with {} emergency donors", donorsById.size());
+    }
+
+    // Adds, moves or removes the user depending on their current role and opt-in state
+    public void update(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        if (user.getRole() != User.UserRole.DONOR || !user.isEmergencyOptIn() || user.getBloodType() == null) {
+            remove(user.getId());
+            return;
+        }
+
+        DonorLocation location = new DonorLocation(user.getId(), user.getBloodType(),
+                user.getLatitude(), user.getLongitude());
+        donorsById.compute(user.getId(), (id, previous) -> {
+            if (previous != null) {
+                removeFromCell(previous);
+            }
+            cells.compute(cellKey(location.latitude(), location.longitude()), (key, cell) -> {
+                Map<Long, DonorLocation> target = cell != null ? cell : new ConcurrentHashMap<>();
+                target.put(id, location);
+                return target;
+            });
+            return location;
+        });
+    }
+
+    public void remove(Long userId) {
+        donorsById.computeIfPresent(userId, (id, previous) -> {
+            removeFromCell(previous);
+            return null;
+        });
+    }
+
+    public int size() {
+        return donorsById.size();
+    }
+
+    /**
+     * Returns up to {@code limit} donors within {@code radiusKm} of the given point who can
+     * donate to {@code recipientType}, ordered nearest first.
+     */
+    public List<DonorMatch> findNearest(double latitude, double longitude, double radiusKm,
+                                        int limit, BloodType recipientType) {
+        double latSpan = radiusKm / GeoUtils.KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lonSpan = cosLat < 1e-6 ? 180 : Math.min(180, latSpan / cosLat);
+
+        int minLatCell = Math.max(0, latCell(latitude - latSpan));
+        int maxLatCell = Math.min(LAT_CELLS - 1, latCell(latitude + latSpan));
+        int minLonCell = lonCell(longitude - lonSpan);
+        int lonCellCount = Math.min(LON_CELLS, lonCell(longitude + lonSpan) - minLonCell + 1);
+
+        int donorMask = recipientType.compatibleDonorMask();
+        List<DonorMatch> matches = new ArrayList<>();
+        for (int latIdx = minLatCell; latIdx <= maxLatCell; latIdx++) {
+            for (int offset = 0; offset < lonCellCount; offset++) {
+                int lonIdx = Math.floorMod(minLonCell + offset, LON_CELLS);
+                Map<Long, DonorLocation> cell = cells.get(key(latIdx, lonIdx));
+                if (cell == null) {
+                    continue;
+                }
+                for (DonorLocation donor : cell.values()) {
+                    if ((donorMask & donor.bloodType().bit()) == 0) {
+                        continue;
+                    }
+                    double distance = GeoUtils.distanceKm(latitude, longitude,
+                            donor.latitude(), donor.longitude());
+                    if (distance <= radiusKm) {
+                        matches.add(new DonorMatch(donor.userId(), distance));
+                    }
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble(DonorMatch::distanceKm));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void removeFromCell(DonorLocation location) {
+        cells.computeIfPresent(cellKey(location.latitude(), location.longitude()), (key, cell) -> {
+            cell.remove(location.userId());
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return key(Math.min(LAT_CELLS - 1, Math.max(0, latCell(latitude))),
+                Math.floorMod(lonCell(longitude), LON_CELLS));
+    }
+
+    private static long key(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    private static int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int lonCell(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    private record DonorLocation(Long userId, BloodType bloodType, double latitude, double longitude) {
+    }
+
+    public record DonorMatch(Long userId, double distanceKm) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.DonationDrive;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Hands out donor slots for donation drives. Requests for a drive that is already
+ * full are rejected from an in-memory striped counter before they reach the database.
+ * Requests that pass are confirmed by a conditional UPDATE, and the database stays
+ * the source of truth. The UPDATE goes through JDBC and evicts only the changed drive
+ * (see EntityCacheEvictor).
+ */
+@Component
+public class DriveCapacityReservation {
+
+    public static final String CAPACITY_REACHED = "Donation drive has reached its maximum capacity";
+
+    // Counters are re-seeded from the database when exhausted and older than this,
+    // so slots freed by other instances become visible again
+    private static final long RESEED_AFTER_MILLIS = 10_000;
+
+    private static final int STRIPES = Math.min(16,
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    // Capacity check and increment in one statement, so concurrent sign-ups cannot overbook
+    private static final String INCREMENT_SQL = "UPDATE donation_drives SET current_donors = current_donors + 1, " +
+            "updated_at = ? WHERE id = ? AND current_donors < max_capacity";
+    private static final String DECREMENT_SQL = "UPDATE donation_drives SET current_donors = current_donors - 1, " +
+            "updated_at = ? WHERE id = ? AND current_donors > 0";
+    private static final String REMAINING_SQL = "SELECT max_capacity - current_donors FROM donation_drives WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Long, Slots> slotsByDrive = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves a slot on the drive, or throws if it is full. The reservation belongs to
+     * the current transaction: the row update commits with it, and the in-memory permit
+     * is returned if the transaction rolls back.
+     */
+    public void reserve(DonationDrive drive) {
+        Slots slots = slotsFor(drive);
+        if (!slots.tryAcquire()) {
+            if (!slots.isStale()) {
+                throw new RuntimeException(CAPACITY_REACHED);
+            }
+            slotsByDrive.remove(drive.getId(), slots);
+            // Straight from the table: the second-level cache does not see other instances' sign-ups
+            int remaining = jdbcTemplate.queryForList(REMAINING_SQL, Integer.class, drive.getId()).stream()
+                    .findFirst().orElse(drive.getMaxCapacity() - drive.getCurrentDonors());
+            slots = slotsByDrive.computeIfAbsent(drive.getId(), id -> new Slots(Math.max(0, remaining)));
+            if (!slots.tryAcquire()) {
+                throw new RuntimeException(CAPACITY_REACHED);
+            }
+        }
+
+        Slots acquired = slots;
+        releaseOnRollback(acquired);
+
+        if (updateCounter(INCREMENT_SQL, drive.getId()) == 0) {
+            // The counter was optimistic (capacity lowered, or another instance took the slot)
+            slotsByDrive.remove(drive.getId(), acquired);
+            throw new RuntimeException(CAPACITY_REACHED);
+        }
+    }
+
+    /**
+     * Gives a slot back. Returns false if the drive already had no donors.
+     */
+    public boolean release(Long driveId) {
+        if (updateCounter(DECREMENT_SQL, driveId) == 0) {
+            return false;
+        }
+        Slots slots = slotsByDrive.get(driveId);
+        if (slots != null) {
+            runAfterCommit(slots::release);
+        }
+        return true;
+    }
+
+    // Drops the cached counter after the drive's capacity changes or the drive is deleted
+    public void invalidate(Long driveId) {
+        slotsByDrive.remove(driveId);
+    }
+
+    private int updateCounter(String sql, Long driveId) {
+        // Pending entity changes, such as a lowered capacity, must reach the row first
+        entityManager.flush();
+        int updated = jdbcTemplate.update(sql, LocalDateTime.now(), driveId);
+        if (updated > 0) {
+            entityCacheEvictor.evict(DonationDrive.class, driveId);
+        }
+        return updated;
+    }
+
+    private Slots slotsFor(DonationDrive drive) {
+        return slotsByDrive.computeIfAbsent(drive.getId(),
+                id -> new Slots(Math.max(0, drive.getMaxCapacity() - drive.getCurrentDonors())));
+    }
+
+    private static void releaseOnRollback(Slots slots) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Drive capacity must be reserved inside a transaction");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    slots.release();
+                }
+            }
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Remaining permits for one drive, spread over cache-line padded stripes so that
+     * concurrent sign-ups do not all CAS the same word. A request only fails once
+     * every stripe is empty.
+     */
+    static final class Slots {
+
+        // 16 ints = 64 bytes between stripes
+        private static final int PAD = 16;
+
+        private final AtomicIntegerArray permits = new AtomicIntegerArray(STRIPES * PAD);
+        private final long seededAt = System.currentTimeMillis();
+
+        Slots(int remaining) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                permits.set(stripe * PAD, remaining / STRIPES + (stripe < remaining % STRIPES ? 1 : 0));
+            }
+        }
+
+        boolean tryAcquire() {
+            int home = homeStripe();
+            for (int i = 0; i < STRIPES; i++) {
+                int index = ((home + i) & (STRIPES - 1)) * PAD;
+                int available;
+                while ((available = permits.get(index)) > 0) {
+                    if (permits.compareAndSet(index, available, available - 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void release() {
+            permits.incrementAndGet(homeStripe() * PAD);
+        }
+
+        int available() {
+            int total = 0;
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                total += permits.get(stripe * PAD);
+            }
+            return total;
+        }
+
+        boolean isStale() {
+            return System.currentTimeMillis() - seededAt > RESEED_AFTER_MILLIS;
+        }
+
+        private static int homeStripe() {
+            long id = Thread.currentThread().getId();
+            return (int) (id ^ (id >>> 16)) & (STRIPES - 1);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.redweb.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redweb.backend.config.SseSenders;
+import com.redweb.backend.dto.summary.EmergencyRequestCard;
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.util.GeoUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes newly created emergency requests to connected donors over Server-Sent Events,
+ * replacing the polling of /api/emergency-requests/active.
+ *
+ * Subscriptions are grouped by donor blood type, so an alert only visits donors who can
+ * give to the requested type, then filters them by distance. Publishing never writes to
+ * a socket: each subscription has a bounded queue drained on the shared SSE sender pool
+ * (see StreamingConfig). A client too slow to keep its queue from filling up, or whose
+ * write has been blocked for longer than the write timeout, is disconnected, and on
+ * reconnecting it re-reads the active requests once. A slow phone holds at most one sender
+ * thread until then and never stalls the publisher or other donors.
+ */
+@Component
+public class EmergencyAlertBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmergencyAlertBroadcaster.class);
+
+    public static final String EVENT_NAME = "emergency-request";
+
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+
+    // Indexed by donor blood type ordinal
+    @SuppressWarnings("unchecked")
+    private final Set<Subscription>[] subscriptionsByDonorType = new Set[BloodType.values().length];
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final SseSenders senders;
+    private final ScheduledExecutorService heartbeats;
+
+    public EmergencyAlertBroadcaster(ObjectMapper objectMapper,
+                                     SseSenders senders,
+                                     @Value("${app.emergencyStream.queueCapacity:32}") int queueCapacity,
+                                     @Value("${app.emergencyStream.timeout:30m}") Duration timeout,
+                                     @Value("${app.emergencyStream.heartbeat:25s}") Duration heartbeat,
+                                     @Value("${app.emergencyStream.writeTimeout:10s}") Duration writeTimeout) {
+        this.objectMapper = objectMapper;
+        this.senders = senders;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        for (int i = 0; i < subscriptionsByDonorType.length; i++) {
+            subscriptionsByDonorType[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "emergency-sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Keeps proxies from closing idle streams and finds dead connections
+        long period = heartbeat.toMillis();
+        heartbeats.scheduleAtFixedRate(() -> broadcast(Frame.HEARTBEAT), period, period, TimeUnit.MILLISECONDS);
+        long sweep = Math.max(writeTimeout.toMillis() / 2, 1);
+        heartbeats.scheduleAtFixedRate(this::closeStalled, sweep, sweep, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of emergency requests that {@code donorType} can donate to, within
+     * {@code radiusKm} of the given point.
+     */
+    public SseEmitter subscribe(Long userId, BloodType donorType, double latitude, double longitude, double radiusKm) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(emitter, userId, donorType, latitude, longitude, radiusKm);
+        return emitter;
+    }
+
+    Subscription register(SseEmitter emitter, Long userId, BloodType donorType,
+                          double latitude, double longitude, double radiusKm) {
+        Subscription subscription = new Subscription(emitter, userId, donorType, latitude, longitude, radiusKm);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscriptionsByDonorType[donorType.ordinal()].add(subscription);
+        subscriberCount.incrementAndGet();
+        // Commits the response headers right away and tells EventSource how soon to reconnect
+        subscription.offer(Frame.CONNECTED);
+        return subscription;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmergencyRequestCreated(EmergencyRequestCreatedEvent event) {
+        publish(event.request());
+    }
+
+    /**
+     * Queues the request for every subscribed donor it matches; returns how many that was.
+     */
+    public int publish(EmergencyRequest request) {
+        if (request.getStatus() != EmergencyRequest.RequestStatus.ACTIVE || request.getBloodType() == null) {
+            return 0;
+        }
+        Frame frame;
+        try {
+            frame = new Frame(String.valueOf(request.getId()), EVENT_NAME,
+                    objectMapper.writeValueAsString(EmergencyRequestCard.of(request)), null);
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialize emergency request {}", request.getId(), e);
+            return 0;
+        }
+
+        int donorMask = request.getBloodType().compatibleDonorMask();
+        int matched = 0;
+        for (BloodType donorType : BloodType.values()) {
+            if ((donorMask & donorType.bit()) == 0) {
+                continue;
+            }
+            for (Subscription subscription : subscriptionsByDonorType[donorType.ordinal()]) {
+                if (GeoUtils.distanceKm(request.getLatitude(), request.getLongitude(),
+                        subscription.latitude, subscription.longitude) <= subscription.radiusKm) {
+                    subscription.offer(frame);
+                    matched++;
+                }
+            }
+        }
+        logger.debug("Emergency request {} pushed to {} of {} subscribers", request.getId(), matched, subscriberCount.get());
+        return matched;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        for (Set<Subscription> subscriptions : subscriptionsByDonorType) {
+            subscriptions.forEach(Subscription::close);
+        }
+    }
+
+    private void broadcast(Frame frame) {
+        for (Set<Subscription> subscriptions : subscriptionsByDonorType) {
+            subscriptions.forEach(subscription -> subscription.offer(frame));
+        }
+    }
+
+    private void closeStalled() {
+        long now = System.nanoTime();
+        for (Set<Subscription> subscriptions : subscriptionsByDonorType) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.isStalled(now)) {
+                    logger.info("Disconnecting stalled emergency stream of user {}: write blocked for over {} ms",
+                            subscription.userId, TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                    subscription.close();
+                }
+            }
+        }
+    }
+
+    final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final BloodType donorType;
+        private final double latitude;
+        private final double longitude;
+        private final double radiusKm;
+
+        private final BlockingQueue<Frame> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // System.nanoTime() when the write in flight started, 0 when none is
+        private volatile long writeStartedNanos;
+
+        Subscription(SseEmitter emitter, Long userId, BloodType donorType,
+                     double latitude, double longitude, double radiusKm) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.donorType = donorType;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusKm = radiusKm;
+        }
+
+        void offer(Frame frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                logger.info("Disconnecting slow emergency stream of user {}: {} events queued", userId, queueCapacity);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true) && !senders.tryExecute(this::drain)) {
+                draining.set(false);
+                logger.info("Disconnecting emergency stream of user {}: no sender thread available", userId);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed.get() && (frame = queue.poll()) != null) {
+                    writeStartedNanos = System.nanoTime();
+                    emitter.send(frame.toEvent());
+                    writeStartedNanos = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container reports it through onError/onCompletion too
+                close();
+            } finally {
+                writeStartedNanos = 0;
+                draining.set(false);
+            }
+            if (closed.get()) {
+                complete();
+            } else if (!queue.isEmpty() && draining.compareAndSet(false, true)
+                    && !senders.tryExecute(this::drain)) {
+                // A frame offered after the last poll but before draining was cleared
+                draining.set(false);
+                close();
+            }
+        }
+
+        /**
+         * Stops delivery. The emitter is completed by a sender once any in-flight write
+         * returns: send and complete lock the emitter, so completing it here could block
+         * the publisher behind a stalled socket. A stalled write returns once the container's
+         * socket write timeout (server.tomcat.connection-timeout) fails it.
+         */
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (subscriptionsByDonorType[donorType.ordinal()].remove(this)) {
+                subscriberCount.decrementAndGet();
+            }
+            queue.clear();
+            if (draining.compareAndSet(false, true) && !senders.tryExecute(this::drain)) {
+                // No write is in flight, so completing here cannot block
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container
+                }
+            }
+        }
+
+        boolean isStalled(long now) {
+            long started = writeStartedNanos;
+            return started != 0 && now - started > writeTimeoutNanos;
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+    }
+
+    record Frame(String id, String name, String data, String comment) {
+
+        static final Frame CONNECTED = new Frame(null, null, null, "connected");
+        static final Frame HEARTBEAT = new Frame(null, null, null, "keepalive");
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (comment != null) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event().comment(comment);
+                return this == CONNECTED ? event.reconnectTime(RECONNECT_DELAY_MS) : event;
+            }
+            return SseEmitter.event().id(id).name(name).data(data);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.EmergencyRequest;
+
+/**
+ * Published when an emergency request has been saved; listeners that push it to donors
+ * run after the surrounding transaction commits.
+ */
+public record EmergencyRequestCreatedEvent(EmergencyRequest request) {
+}
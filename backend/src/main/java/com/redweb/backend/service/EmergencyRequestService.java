@@ -1,16 +1,26 @@
 package com.redweb.backend.service;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.dto.summary.EmergencyRequestCard;
+import com.redweb.backend.dto.summary.EmergencyRequestSummary;
+import com.redweb.backend.model.BloodType;
 import com.redweb.backend.model.EmergencyRequest;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.EmergencyRequestRepository;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("redweb.service")
 public class EmergencyRequestService {
 
     @Autowired
@@ -19,44 +29,59 @@ public class EmergencyRequestService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<EmergencyRequest> getAllEmergencyRequests() {
-        return emergencyRequestRepository.findAll();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public CursorPage<EmergencyRequestSummary> getEmergencyRequestsPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<EmergencyRequestSummary> slice = after == null
+                ? emergencyRequestRepository.findSummaryPage(PageCursor.pageable(size))
+                : emergencyRequestRepository.findSummaryPageBefore(after.createdAt(), after.id(), PageCursor.pageable(size));
+        return CursorPage.of(slice, request -> new PageCursor(request.createdAt(), request.id()));
     }
 
     public EmergencyRequest getEmergencyRequestById(Long id) {
-        return emergencyRequestRepository.findById(id)
+        return emergencyRequestRepository.findWithPatientById(id)
                 .orElseThrow(() -> new RuntimeException("Emergency request not found with id: " + id));
     }
 
-    public List<EmergencyRequest> getEmergencyRequestsByPatient(Long patientId) {
-        User patient = userRepository.findById(patientId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + patientId));
-        
-        return emergencyRequestRepository.findByPatient(patient);
+    public Long getPatientId(Long id) {
+        return emergencyRequestRepository.findPatientIdById(id)
+                .orElseThrow(() -> new RuntimeException("Emergency request not found with id: " + id));
     }
 
-    public List<EmergencyRequest> getActiveEmergencyRequests() {
-        return emergencyRequestRepository.findByStatus(EmergencyRequest.RequestStatus.ACTIVE);
+    public List<EmergencyRequestSummary> getEmergencyRequestsByPatient(Long patientId) {
+        if (userRepository.findById(patientId).isEmpty()) {
+            throw new RuntimeException("User not found with id: " + patientId);
+        }
+        return emergencyRequestRepository.findSummariesByPatientId(patientId);
+    }
+
+    public List<EmergencyRequestCard> getActiveEmergencyRequests() {
+        return emergencyRequestRepository.findCardsByStatus(EmergencyRequest.RequestStatus.ACTIVE);
     }
 
-    public List<EmergencyRequest> getEmergencyRequestsByBloodType(String bloodType) {
-        return emergencyRequestRepository.findByBloodType(bloodType);
+    public List<EmergencyRequestSummary> getEmergencyRequestsByBloodType(BloodType bloodType) {
+        return emergencyRequestRepository.findSummariesByBloodType(bloodType);
     }
 
-    public List<EmergencyRequest> getActiveEmergencyRequestsByBloodType(String bloodType) {
-        return emergencyRequestRepository.findByStatusAndBloodType(
+    public List<EmergencyRequestCard> getActiveEmergencyRequestsByBloodType(BloodType bloodType) {
+        return emergencyRequestRepository.findCardsByStatusAndBloodType(
                 EmergencyRequest.RequestStatus.ACTIVE, bloodType);
     }
 
-    public List<EmergencyRequest> getEmergencyRequestsByUrgency(EmergencyRequest.UrgencyLevel urgencyLevel) {
-        return emergencyRequestRepository.findByUrgencyLevel(urgencyLevel);
+    public List<EmergencyRequestSummary> getEmergencyRequestsByUrgency(EmergencyRequest.UrgencyLevel urgencyLevel) {
+        return emergencyRequestRepository.findSummariesByUrgencyLevel(urgencyLevel);
     }
 
+    // Subscribed donors are notified once this commits (see EmergencyAlertBroadcaster)
+    @Transactional
     public EmergencyRequest createEmergencyRequest(Long patientId, EmergencyRequest emergencyRequest) {
         User patient = userRepository.findById(patientId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + patientId));
         
         emergencyRequest.setPatient(patient);
+        emergencyRequest.setUnitsCollected(0.0);
         emergencyRequest.setCreatedAt(LocalDateTime.now());
         emergencyRequest.setUpdatedAt(LocalDateTime.now());
         
@@ -65,7 +90,9 @@ public class EmergencyRequestService {
             emergencyRequest.setStatus(EmergencyRequest.RequestStatus.ACTIVE);
         }
         
-        return emergencyRequestRepository.save(emergencyRequest);
+        EmergencyRequest saved = emergencyRequestRepository.save(emergencyRequest);
+        eventPublisher.publishEvent(new EmergencyRequestCreatedEvent(saved));
+        return saved;
     }
 
     public EmergencyRequest updateEmergencyRequest(Long id, EmergencyRequest emergencyRequestDetails) {
@@ -1,11 +1,15 @@
 package com.redweb.backend.service;
 
+import com.redweb.backend.dto.summary.EmergencyResponseSummary;
 import com.redweb.backend.model.EmergencyRequest;
 import com.redweb.backend.model.EmergencyResponse;
+import com.redweb.backend.model.ResponderLocationPoint;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.EmergencyRequestRepository;
 import com.redweb.backend.repository.EmergencyResponseRepository;
+import com.redweb.backend.repository.ResponderLocationPointRepository;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("redweb.service")
 public class EmergencyResponseService {
 
     @Autowired
@@ -24,31 +29,40 @@ public class EmergencyResponseService {
     @Autowired
     private UserRepository userRepository;
 
-    public List<EmergencyResponse> getAllEmergencyResponses() {
-        return emergencyResponseRepository.findAll();
+    @Autowired
+    private ResponderLocationTracker responderLocationTracker;
+
+    @Autowired
+    private ResponderLocationPointRepository responderLocationPointRepository;
+
+    public List<EmergencyResponseSummary> getAllEmergencyResponses() {
+        return emergencyResponseRepository.findAllSummaries();
     }
 
     public EmergencyResponse getEmergencyResponseById(Long id) {
-        return emergencyResponseRepository.findById(id)
+        return emergencyResponseRepository.findWithAssociationsById(id)
+                .map(responderLocationTracker::applyLatest)
                 .orElseThrow(() -> new RuntimeException("Emergency response not found with id: " + id));
     }
 
-    public List<EmergencyResponse> getEmergencyResponsesByDonor(Long donorId) {
-        User donor = userRepository.findById(donorId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + donorId));
-        
-        return emergencyResponseRepository.findByDonor(donor);
+    public List<EmergencyResponseSummary> getEmergencyResponsesByDonor(Long donorId) {
+        if (userRepository.findById(donorId).isEmpty()) {
+            throw new RuntimeException("User not found with id: " + donorId);
+        }
+        return emergencyResponseRepository.findSummariesByDonorId(donorId);
     }
 
-    public List<EmergencyResponse> getEmergencyResponsesByRequest(Long requestId) {
-        EmergencyRequest request = emergencyRequestRepository.findById(requestId)
-                .orElseThrow(() -> new RuntimeException("Emergency request not found with id: " + requestId));
-        
-        return emergencyResponseRepository.findByRequest(request);
+    public List<EmergencyResponseSummary> getEmergencyResponsesByRequest(Long requestId) {
+        if (!emergencyRequestRepository.existsById(requestId)) {
+            throw new RuntimeException("Emergency request not found with id: " + requestId);
+        }
+        return emergencyResponseRepository.findSummariesByRequestId(requestId).stream()
+                .map(responderLocationTracker::applyLatest)
+                .toList();
     }
 
-    public List<EmergencyResponse> getEmergencyResponsesByStatus(EmergencyResponse.ResponseStatus status) {
-        return emergencyResponseRepository.findByStatus(status);
+    public List<EmergencyResponseSummary> getEmergencyResponsesByStatus(EmergencyResponse.ResponseStatus status) {
+        return emergencyResponseRepository.findSummariesByStatus(status);
     }
 
     public EmergencyResponse createEmergencyResponse(Long donorId, Long requestId, EmergencyResponse emergencyResponse) {
@@ -90,25 +104,39 @@ public class EmergencyResponseService {
         emergencyResponse.setCurrentLongitude(emergencyResponseDetails.getCurrentLongitude());
         emergencyResponse.setUpdatedAt(LocalDateTime.now());
         
+        // The explicit values win over any position the tracker has not flushed yet
+        responderLocationTracker.complete(id);
         return emergencyResponseRepository.save(emergencyResponse);
     }
 
     public EmergencyResponse updateEmergencyResponseStatus(Long id, EmergencyResponse.ResponseStatus status) {
+        // Carries the live position into the save instead of writing back a stale one
         EmergencyResponse emergencyResponse = getEmergencyResponseById(id);
         emergencyResponse.setStatus(status);
         emergencyResponse.setUpdatedAt(LocalDateTime.now());
-        return emergencyResponseRepository.save(emergencyResponse);
+        EmergencyResponse saved = emergencyResponseRepository.save(emergencyResponse);
+        if (status != EmergencyResponse.ResponseStatus.ACCEPTED && status != EmergencyResponse.ResponseStatus.EN_ROUTE) {
+            // No more pings expected; write out the rest of the trail
+            responderLocationTracker.complete(id);
+        }
+        return saved;
     }
 
-    public EmergencyResponse updateEmergencyResponseLocation(Long id, double latitude, double longitude) {
-        EmergencyResponse emergencyResponse = getEmergencyResponseById(id);
-        emergencyResponse.setCurrentLatitude(latitude);
-        emergencyResponse.setCurrentLongitude(longitude);
-        emergencyResponse.setUpdatedAt(LocalDateTime.now());
-        return emergencyResponseRepository.save(emergencyResponse);
+    /**
+     * Records a GPS ping in memory; the database is updated in batches by the tracker.
+     */
+    public ResponderLocationTracker.LivePosition updateEmergencyResponseLocation(Long id, double latitude, double longitude) {
+        return responderLocationTracker.ping(id, latitude, longitude);
+    }
+
+    public List<ResponderLocationPoint> getEmergencyResponseTrail(Long id) {
+        responderLocationTracker.flush(id);
+        return responderLocationPointRepository.findByResponseIdOrderByRecordedAtAsc(id);
     }
 
     public void deleteEmergencyResponse(Long id) {
+        responderLocationTracker.discard(id);
+        responderLocationPointRepository.deleteByResponseId(id);
         emergencyResponseRepository.deleteById(id);
     }
 }
@@ -0,0 +1,33 @@
+package com.redweb.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops single entities from the second-level cache after they were changed behind
+ * Hibernate's back. A Hibernate bulk UPDATE would do this too, but by clearing the
+ * entity's whole region, which defeats the cache for counters bumped on every donation.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Evicts now and again once the transaction ends, so a reader that cached the
+    // old row while ours was still uncommitted does not keep it until it expires
+    public void evict(Class<?> entityClass, Object id) {
+        entityManagerFactory.getCache().evict(entityClass, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(entityClass, id);
+                }
+            });
+        }
+    }
+}
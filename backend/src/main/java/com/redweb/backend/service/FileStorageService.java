@@ -0,0 +1,238 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.util.CharSequenceInputStream;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores uploaded verification documents. Uploads are streamed to a temp file through
+ * {@link FileChannel#transferFrom} while their SHA-256 is computed. The file is then moved
+ * to a content-addressed path sharded two levels deep (ab/cd/abcd....pdf), so identical
+ * uploads are stored once and no single directory grows unbounded.
+ */
+@Service
+@Timed("redweb.service")
+public class FileStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
+
+    private static final long TRANSFER_CHUNK = 1 << 20;
+
+    private final Path root;
+    private final Path tempDir;
+    private final long maxFileSize;
+
+    // Shard directories already known to exist, so uploads skip the filesystem check
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    public FileStorageService(@Value("${app.upload.dir:uploads/verification}") String uploadDir,
+                              @Value("${app.upload.maxFileSize:10MB}") DataSize maxFileSize) throws IOException {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tempDir = root.resolve(".tmp");
+        this.maxFileSize = maxFileSize.toBytes();
+        Files.createDirectories(tempDir);
+    }
+
+    public StoredFile store(InputStream content, String originalFilename) throws IOException {
+        return store(content, originalFilename, -1);
+    }
+
+    /**
+     * Streams {@code content} into storage. {@code declaredSize} (or -1 if unknown) lets
+     * oversized uploads be rejected before any bytes are read; the limit is enforced on
+     * the actual stream either way.
+     */
+    public StoredFile store(InputStream content, String originalFilename, long declaredSize) throws IOException {
+        if (declaredSize > maxFileSize) {
+            throw new FileTooLargeException(maxFileSize);
+        }
+
+        MessageDigest digest = sha256();
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".part");
+        long size;
+        try (ReadableByteChannel source = new DigestingChannel(Channels.newChannel(content), digest, maxFileSize);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            size = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, size, TRANSFER_CHUNK)) > 0) {
+                size += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        String relativePath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extensionOf(originalFilename);
+        Path target = root.resolve(relativePath);
+        ensureDirectory(target.getParent());
+
+        // Content-addressed: an existing file already holds these exact bytes. Two identical
+        // uploads racing past this check just replace each other with the same content.
+        boolean duplicate = Files.exists(target);
+        if (duplicate) {
+            Files.delete(temp);
+        } else {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        logger.debug("Stored upload {} ({} bytes{})", relativePath, size, duplicate ? ", duplicate" : "");
+        return new StoredFile(relativePath, hash, size, duplicate);
+    }
+
+    /**
+     * Stores a Base64 document, optionally prefixed with a data URI header
+     * ("data:application/pdf;base64,..."). The payload is decoded as it is written, so the
+     * decoded bytes are never held in memory in full.
+     */
+    public StoredFile storeBase64(String base64, String originalFilename) throws IOException {
+        int start = base64.indexOf(',') + 1;
+        // Decoded size is 3/4 of the encoded length, so oversized payloads fail up front
+        long declaredSize = (base64.length() - start) / 4L * 3;
+        try (InputStream decoded = Base64.getDecoder().wrap(new CharSequenceInputStream(base64, start))) {
+            return store(decoded, originalFilename, declaredSize - 2);
+        }
+    }
+
+    /**
+     * Stores a registration's verification document from whichever form it arrived in:
+     * a multipart file, or a Base64 field of a JSON body. Returns null if there is none.
+     */
+    public StoredFile storeDocument(MultipartFile document, String base64, String base64Filename) throws IOException {
+        if (document != null && !document.isEmpty()) {
+            try (InputStream content = document.getInputStream()) {
+                return store(content, document.getOriginalFilename(), document.getSize());
+            }
+        }
+        if (base64 != null && !base64.isEmpty()) {
+            return storeBase64(base64, base64Filename);
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a path returned by {@link #store}, refusing anything outside the upload root.
+     */
+    public Path resolve(String relativePath) {
+        Path resolved = root.resolve(relativePath).normalize();
+        if (!resolved.startsWith(root) || resolved.startsWith(tempDir)) {
+            throw new IllegalArgumentException("Invalid file path: " + relativePath);
+        }
+        return resolved;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    private void ensureDirectory(Path directory) throws IOException {
+        if (!createdDirectories.contains(directory)) {
+            Files.createDirectories(directory);
+            createdDirectories.add(directory);
+        }
+    }
+
+    // Keeps a short alphanumeric extension so stored names stay safe to serve
+    private static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        if (dot < 0 || dot == filename.length() - 1 || filename.length() - dot > 11) {
+            return "";
+        }
+        String extension = filename.substring(dot + 1);
+        return extension.chars().allMatch(Character::isLetterOrDigit) ? "." + extension.toLowerCase() : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record StoredFile(String filename, String sha256, long size, boolean duplicate) {
+    }
+
+    public static class FileTooLargeException extends IOException {
+        public FileTooLargeException(long maxFileSize) {
+            super("File exceeds the maximum size of " + DataSize.ofBytes(maxFileSize).toMegabytes() + "MB");
+        }
+    }
+
+    // Feeds every byte read through the digest on its way to the file channel, and fails the
+    // read that goes past the size limit, before those bytes reach the file
+    private static final class DigestingChannel implements ReadableByteChannel {
+
+        private final ReadableByteChannel delegate;
+        private final MessageDigest digest;
+        private final long maxBytes;
+        private long total;
+
+        DigestingChannel(ReadableByteChannel delegate, MessageDigest digest, long maxBytes) {
+            this.delegate = delegate;
+            this.digest = digest;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            // Never asks for more than one byte past the limit
+            int limit = dst.limit();
+            dst.limit((int) Math.min(limit, start + maxBytes - total + 1));
+            int read;
+            try {
+                read = delegate.read(dst);
+            } finally {
+                dst.limit(limit);
+            }
+            if (read > 0) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new FileTooLargeException(maxBytes);
+                }
+                ByteBuffer written = dst.duplicate();
+                written.position(start).limit(start + read);
+                digest.update(written);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.redweb.backend.model.HealthRecord;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.HealthRecordRepository;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("redweb.service")
 public class HealthRecordService {
 
     @Autowired
@@ -22,11 +24,11 @@ public class HealthRecordService {
     private UserRepository userRepository;
 
     public List<HealthRecord> getAllHealthRecords() {
-        return healthRecordRepository.findAll();
+        return healthRecordRepository.findAllWithUser();
     }
 
     public HealthRecord getHealthRecordById(Long id) {
-        return healthRecordRepository.findById(id)
+        return healthRecordRepository.findWithUserById(id)
                 .orElseThrow(() -> new RuntimeException("Health record not found with id: " + id));
     }
 
@@ -79,12 +81,32 @@ public class HealthRecordService {
         HealthRecord healthRecord = healthRecordRepository.findByUser(user)
                 .orElseThrow(() -> new RuntimeException("Health record not found for user: " + userId));
         
+        recordDonation(healthRecord, donationDate);
+        
+        return healthRecordRepository.save(healthRecord);
+    }
+
+    /**
+     * Loads a donor's health record together with the donor, for write paths that change both.
+     */
+    public HealthRecord getHealthRecordWithUser(Long userId) {
+        return healthRecordRepository.findByUserIdWithUser(userId).orElseThrow(() -> {
+            if (!userRepository.existsById(userId)) {
+                return new RuntimeException("User not found with id: " + userId);
+            }
+            return new RuntimeException("Health record not found for user: " + userId);
+        });
+    }
+
+    /**
+     * Applies a donation to an already loaded record; the change is written when the
+     * surrounding transaction flushes.
+     */
+    public void recordDonation(HealthRecord healthRecord, LocalDate donationDate) {
         healthRecord.setLastDonationDate(donationDate);
         // Assuming donors need 3 months before eligible again
         healthRecord.setNextEligibleDate(donationDate.plusMonths(3));
         healthRecord.setUpdatedAt(LocalDateTime.now());
-        
-        return healthRecordRepository.save(healthRecord);
     }
 
     public List<HealthRecord> getEligibleDonors() {
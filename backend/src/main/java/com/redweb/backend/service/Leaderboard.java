@@ -0,0 +1,264 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.util.OrderStatisticTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Donors ranked by points, held in memory so top-N, rank-of-user and neighbour lookups
+ * cost O(log n) instead of sorting the users table. Ties share a rank.
+ *
+ * Each committed award moves its donor by the awarded amount. users.points is the durable
+ * copy: the ranking is rebuilt from it on startup and resynced periodically, which also
+ * picks up awards made through other instances. Changes that arrive while a rebuild is
+ * reading the table are replayed onto the rebuilt ranking, so the swap does not drop them.
+ * An award may or may not be in what the rebuild read, so its replay sets the donor to the
+ * balance the award committed rather than adding it again.
+ */
+@Component
+public class Leaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(Leaderboard.class);
+
+    public static final int MAX_LIMIT = 100;
+
+    // Most points first, then oldest account first so the order is stable
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::points).reversed()
+            .thenComparingLong(Entry::userId);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced wholesale by rebuild; guarded by the lock
+    private OrderStatisticTree<Entry> ranking = new OrderStatisticTree<>(ORDER);
+    private Map<Long, Entry> entriesByUser = new HashMap<>();
+    // Replays of the changes made since the running rebuild started reading, or null outside
+    // a rebuild; guarded by the lock
+    private List<Runnable> changesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.leaderboard.resyncInterval:PT10M}",
+               fixedDelayString = "${app.leaderboard.resyncInterval:PT10M}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<UserRepository.PointsStanding> standings;
+        try {
+            standings = userRepository.findPointsStandingsByRole(User.UserRole.DONOR);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        // Built aside so readers are only held up for the swap
+        OrderStatisticTree<Entry> rebuilt = new OrderStatisticTree<>(ORDER);
+        Map<Long, Entry> rebuiltByUser = new HashMap<>(standings.size() * 2);
+        for (UserRepository.PointsStanding standing : standings) {
+            Entry entry = new Entry(standing.getId(),
+                    displayName(standing.getFirstName(), standing.getLastName()), standing.getPoints(), 0);
+            rebuiltByUser.put(entry.userId(), entry);
+            rebuilt.add(entry);
+        }
+        lock.writeLock().lock();
+        try {
+            ranking = rebuilt;
+            entriesByUser = rebuiltByUser;
+            changesDuringRebuild.forEach(Runnable::run);
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Leaderboard loaded with {} donors", rebuiltByUser.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPointsAwarded(PointsAwardedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (entriesByUser.containsKey(event.userId())) {
+                // Deltas apply in any order, so awards committing concurrently cannot overtake each other
+                apply(() -> {
+                    Entry entry = entriesByUser.get(event.userId());
+                    if (entry != null) {
+                        put(new Entry(entry.userId(), entry.displayName(), entry.points() + event.points(),
+                                Math.max(entry.ledgerId(), event.ledgerId())));
+                    }
+                }, () -> {
+                    // The rebuild's read may already hold this award, so its committed balance is
+                    // taken instead, unless a later award of the same donor has been replayed
+                    Entry entry = entriesByUser.get(event.userId());
+                    if (entry != null && event.ledgerId() > entry.ledgerId()) {
+                        put(new Entry(entry.userId(), entry.displayName(), event.balance(), event.ledgerId()));
+                    }
+                });
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Someone not ranked yet, e.g. registered on another instance
+        userRepository.findById(event.userId()).ifPresent(this::update);
+    }
+
+    // Adds, renames or removes the user depending on their current role. A ranked donor's
+    // points only move through awards, so a user read before an award cannot roll it back
+    public void update(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        if (user.getRole() != User.UserRole.DONOR) {
+            remove(user.getId());
+            return;
+        }
+        String displayName = displayName(user.getFirstName(), user.getLastName());
+        lock.writeLock().lock();
+        try {
+            apply(() -> {
+                Entry existing = entriesByUser.get(user.getId());
+                put(existing != null
+                        ? new Entry(user.getId(), displayName, existing.points(), existing.ledgerId())
+                        : new Entry(user.getId(), displayName, user.getPoints(), 0));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            apply(() -> {
+                Entry previous = entriesByUser.remove(userId);
+                if (previous != null) {
+                    ranking.remove(previous);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Standing> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return standings(0, Math.min(bound(limit), ranking.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The user's standing, or null if they are not on the leaderboard
+    public Standing rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entriesByUser.get(userId);
+            return entry == null ? null : new Standing(rank(entry), entry.userId(), entry.displayName(), entry.points());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to 'radius' donors either side of the user, the user included; empty if not ranked
+    public List<Standing> neighbors(Long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entriesByUser.get(userId);
+            if (entry == null) {
+                return List.of();
+            }
+            int position = ranking.rank(entry);
+            int boundedRadius = Math.max(0, Math.min(radius, MAX_LIMIT));
+            return standings(Math.max(0, position - boundedRadius),
+                    Math.min(ranking.size(), position + boundedRadius + 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Runs a change under the write lock, and keeps it (or its replay) if a rebuild is reading
+    private void apply(Runnable change) {
+        apply(change, change);
+    }
+
+    private void apply(Runnable change, Runnable replay) {
+        change.run();
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(replay);
+        }
+    }
+
+    private void put(Entry entry) {
+        Entry previous = entriesByUser.put(entry.userId(), entry);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(entry);
+    }
+
+    private List<Standing> standings(int from, int to) {
+        List<Standing> standings = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            Entry entry = ranking.get(i);
+            standings.add(new Standing(rank(entry), entry.userId(), entry.displayName(), entry.points()));
+        }
+        return standings;
+    }
+
+    // 1-based competition rank: one more than the number of donors with more points
+    private int rank(Entry entry) {
+        return ranking.rank(new Entry(Long.MIN_VALUE, null, entry.points(), 0)) + 1;
+    }
+
+    private static int bound(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // First name and last initial; the leaderboard is visible to every signed-in user
+    private static String displayName(String firstName, String lastName) {
+        if (lastName == null || lastName.isEmpty()) {
+            return firstName;
+        }
+        return firstName + " " + lastName.charAt(0) + ".";
+    }
+
+    // ledgerId is the newest award applied to the donor, 0 if none since they were read
+    private record Entry(long userId, String displayName, int points, long ledgerId) {
+    }
+
+    public record Standing(int rank, Long userId, String displayName, int points) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.PointsLedgerEntry;
+
+/**
+ * Published when a user's points balance changes; badge evaluation listens for it after
+ * the surrounding transaction commits. The balance is the one this award produced, read
+ * under the row lock, so concurrent awards report adjoining ranges. The ledger entry is
+ * written under the same lock, so a user's later awards always carry higher ledger ids.
+ */
+public record PointsAwardedEvent(Long userId, int points, int balance, PointsLedgerEntry.Reason reason,
+                                 long ledgerId) {
+
+    public int previousBalance() {
+        return balance - points;
+    }
+}
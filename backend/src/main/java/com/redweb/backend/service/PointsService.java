@@ -0,0 +1,86 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.PointsLedgerEntry;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.PointsLedgerRepository;
+import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Awards points by appending to the points ledger and bumping User.points in place with
+ * a single UPDATE, so concurrent awards never overwrite each other and no user row has
+ * to be read first. The UPDATE goes through JDBC on the transaction's connection and
+ * evicts just this user from the second-level cache (see EntityCacheEvictor).
+ */
+@Service
+@Timed("redweb.service")
+public class PointsService {
+
+    public static final int MAX_HISTORY = 200;
+
+    // User.points is not updatable through the entity, so this is its only writer
+    private static final String ADD_POINTS_SQL = "UPDATE users SET points = points + ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Records the award and returns the user's new balance.
+     */
+    @Transactional
+    public int award(Long userId, int points, PointsLedgerEntry.Reason reason, Long referenceId) {
+        if (jdbcTemplate.update(ADD_POINTS_SQL, points, LocalDateTime.now(), userId) == 0) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        entityCacheEvictor.evict(User.class, userId);
+        // The UPDATE holds the row lock until commit, so this is exactly our award's result
+        int balance = userRepository.findPointsById(userId);
+
+        PointsLedgerEntry entry = new PointsLedgerEntry();
+        entry.setUserId(userId);
+        entry.setPoints(points);
+        entry.setReason(reason);
+        entry.setReferenceId(referenceId);
+        PointsLedgerEntry saved = pointsLedgerRepository.save(entry);
+
+        eventPublisher.publishEvent(new PointsAwardedEvent(userId, points, balance, reason, saved.getId()));
+        return balance;
+    }
+
+    /**
+     * Same as {@link #award(Long, int, PointsLedgerEntry.Reason, Long)} for a user the caller
+     * already holds; its in-memory balance is brought up to date so the caller can return it.
+     */
+    @Transactional
+    public int award(User user, int points, PointsLedgerEntry.Reason reason, Long referenceId) {
+        int balance = award(user.getId(), points, reason, referenceId);
+        user.setPoints(balance);
+        return balance;
+    }
+
+    public List<PointsLedgerEntry> getHistory(Long userId, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_HISTORY));
+        return pointsLedgerRepository.findByUserIdOrderByIdDesc(userId, PageRequest.of(0, boundedLimit));
+    }
+}
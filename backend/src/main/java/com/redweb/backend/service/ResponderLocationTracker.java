@@ -0,0 +1,434 @@
+package com.redweb.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redweb.backend.config.SseSenders;
+import com.redweb.backend.dto.summary.EmergencyResponseSummary;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.EmergencyResponse;
+import com.redweb.backend.repository.EmergencyResponseRepository;
+import com.redweb.backend.util.GeoUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ingests GPS pings from responding donors. The latest position of each response lives in
+ * memory and is what readers and the live ETA streams see. The database gets the coalesced
+ * latest position plus a downsampled trail, written every flush interval as two JDBC
+ * batches, instead of a read and a full-entity write per ping.
+ *
+ * Positions not yet flushed are lost if the instance dies; the next ping restores them.
+ * Streams are written on the shared SSE sender pool (see StreamingConfig), and one whose
+ * write stays blocked for longer than app.responderLocation.writeTimeout is disconnected.
+ */
+@Component
+public class ResponderLocationTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponderLocationTracker.class);
+
+    public static final String EVENT_NAME = "responder-location";
+
+    private static final String UPDATE_RESPONSE_SQL = "UPDATE emergency_responses SET current_latitude = ?, "
+            + "current_longitude = ?, estimated_arrival_time = ?, updated_at = ? WHERE id = ?";
+    private static final String INSERT_POINT_SQL = "INSERT INTO responder_location_points "
+            + "(response_id, latitude, longitude, recorded_at) VALUES (?, ?, ?, ?)";
+
+    private final EmergencyResponseRepository emergencyResponseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final double assumedSpeedKmh;
+    private final long trailIntervalMillis;
+    private final double trailMinDistanceKm;
+    private final long idleMillis;
+    private final long streamTimeoutMillis;
+    private final long writeTimeoutNanos;
+
+    private final Map<Long, Track> tracks = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscription>> subscriptionsByRequest = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flusher;
+    private final SseSenders senders;
+
+    public ResponderLocationTracker(EmergencyResponseRepository emergencyResponseRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper,
+                                    SseSenders senders,
+                                    @Value("${app.responderLocation.flushInterval:5s}") Duration flushInterval,
+                                    @Value("${app.responderLocation.assumedSpeedKmh:30}") double assumedSpeedKmh,
+                                    @Value("${app.responderLocation.trailInterval:30s}") Duration trailInterval,
+                                    @Value("${app.responderLocation.trailMinDistanceMeters:200}") double trailMinDistanceMeters,
+                                    @Value("${app.responderLocation.idleTimeout:30m}") Duration idleTimeout,
+                                    @Value("${app.responderLocation.streamTimeout:30m}") Duration streamTimeout,
+                                    @Value("${app.responderLocation.writeTimeout:10s}") Duration writeTimeout) {
+        this.emergencyResponseRepository = emergencyResponseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.senders = senders;
+        this.assumedSpeedKmh = assumedSpeedKmh;
+        this.trailIntervalMillis = trailInterval.toMillis();
+        this.trailMinDistanceKm = trailMinDistanceMeters / 1000;
+        this.idleMillis = idleTimeout.toMillis();
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "responder-location-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, period, period, TimeUnit.MILLISECONDS);
+        long sweep = Math.max(writeTimeout.toMillis() / 2, 1);
+        flusher.scheduleAtFixedRate(this::closeStalled, sweep, sweep, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records a ping. Only the first ping of a response touches the database (to find the
+     * request it is heading to); the rest are memory updates.
+     */
+    public LivePosition ping(Long responseId, double latitude, double longitude) {
+        Track track = tracks.get(responseId);
+        if (track == null) {
+            track = tracks.computeIfAbsent(responseId, this::loadTrack);
+        }
+        LivePosition position = track.update(latitude, longitude);
+        publish(position);
+        return position;
+    }
+
+    public LivePosition getPosition(Long responseId) {
+        Track track = tracks.get(responseId);
+        return track != null ? track.latest : null;
+    }
+
+    // Overlays the live position on an entity read from the database, which may be a flush behind
+    public EmergencyResponse applyLatest(EmergencyResponse response) {
+        LivePosition position = getPosition(response.getId());
+        if (position != null) {
+            response.setCurrentLatitude(position.latitude());
+            response.setCurrentLongitude(position.longitude());
+            response.setEstimatedArrivalTime(position.estimatedArrivalTime());
+        }
+        return response;
+    }
+
+    public EmergencyResponseSummary applyLatest(EmergencyResponseSummary response) {
+        LivePosition position = getPosition(response.id());
+        return position == null ? response
+                : response.withPosition(position.latitude(), position.longitude(), position.estimatedArrivalTime());
+    }
+
+    /**
+     * Server-Sent Events stream of responder positions and ETAs for one emergency request.
+     * Starts with the current position of every tracked responder. Updates are coalesced
+     * per responder, so a slow client gets the latest position rather than a backlog.
+     */
+    public SseEmitter subscribe(Long requestId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscription subscription = new Subscription(requestId, emitter);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscriptionsByRequest.computeIfAbsent(requestId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        for (Track track : tracks.values()) {
+            if (track.requestId.equals(requestId) && track.latest != null) {
+                subscription.offer(track.latest);
+            }
+        }
+        return subscription.emitter;
+    }
+
+    /**
+     * Writes the pending positions and trail points of one response now and stops tracking it,
+     * e.g. once the donor has arrived.
+     */
+    public void complete(Long responseId) {
+        Track track = tracks.remove(responseId);
+        if (track != null) {
+            write(List.of(track));
+        }
+    }
+
+    // Stops tracking without writing anything, for responses being deleted
+    public void discard(Long responseId) {
+        tracks.remove(responseId);
+    }
+
+    /**
+     * Writes every position that changed since the last flush and the trail points sampled
+     * since then, each as one JDBC batch.
+     */
+    public synchronized void flush() {
+        long idleCutoff = System.currentTimeMillis() - idleMillis;
+        List<Track> dirty = new ArrayList<>();
+        for (Iterator<Track> it = tracks.values().iterator(); it.hasNext(); ) {
+            Track track = it.next();
+            if (track.dirty.get() || !track.trail.isEmpty()) {
+                dirty.add(track);
+            } else if (track.latestMillis < idleCutoff) {
+                it.remove();
+            }
+        }
+        if (!dirty.isEmpty()) {
+            write(dirty);
+        }
+    }
+
+    // Writes what is pending for one response, e.g. before its trail is read back
+    public void flush(Long responseId) {
+        Track track = tracks.get(responseId);
+        if (track != null && (track.dirty.get() || !track.trail.isEmpty())) {
+            write(List.of(track));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushQuietly();
+        subscriptionsByRequest.values().forEach(subscriptions -> subscriptions.forEach(Subscription::close));
+    }
+
+    private synchronized void write(List<Track> dirty) {
+        List<Object[]> updates = new ArrayList<>(dirty.size());
+        List<Object[]> points = new ArrayList<>();
+        List<Track> written = new ArrayList<>(dirty.size());
+        List<TrailPoint> drained = new ArrayList<>();
+        for (Track track : dirty) {
+            if (track.dirty.getAndSet(false)) {
+                LivePosition position = track.latest;
+                updates.add(new Object[]{position.latitude(), position.longitude(),
+                        position.estimatedArrivalTime(), position.recordedAt(), track.responseId});
+                written.add(track);
+            }
+            TrailPoint point;
+            while ((point = track.trail.poll()) != null) {
+                points.add(new Object[]{track.responseId, point.latitude(), point.longitude(), point.recordedAt()});
+                drained.add(point);
+            }
+        }
+
+        try {
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_RESPONSE_SQL, updates);
+            }
+            if (!points.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_POINT_SQL, points);
+            }
+            logger.debug("Flushed {} responder positions and {} trail points", updates.size(), points.size());
+        } catch (RuntimeException e) {
+            // Keep the data for the next flush; the newest position is still in memory
+            written.forEach(track -> track.dirty.set(true));
+            for (TrailPoint point : drained) {
+                Track track = tracks.get(point.responseId());
+                if (track != null) {
+                    track.trail.add(point);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Could not flush responder locations", e);
+        }
+    }
+
+    private void closeStalled() {
+        long now = System.nanoTime();
+        for (Set<Subscription> subscriptions : subscriptionsByRequest.values()) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.isStalled(now)) {
+                    logger.info("Disconnecting stalled responder location stream of request {}: write blocked for over {} ms",
+                            subscription.requestId, TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                    subscription.close();
+                }
+            }
+        }
+    }
+
+    private Track loadTrack(Long responseId) {
+        EmergencyResponse response = emergencyResponseRepository.findWithRequestById(responseId)
+                .orElseThrow(() -> new RuntimeException("Emergency response not found with id: " + responseId));
+        EmergencyRequest request = response.getRequest();
+        return new Track(responseId, request.getId(), response.getDonor().getId(),
+                request.getLatitude(), request.getLongitude());
+    }
+
+    private void publish(LivePosition position) {
+        Set<Subscription> subscriptions = subscriptionsByRequest.get(position.requestId());
+        if (subscriptions != null) {
+            subscriptions.forEach(subscription -> subscription.offer(position));
+        }
+    }
+
+    private final class Track {
+
+        final Long responseId;
+        final Long requestId;
+        final Long donorId;
+        final double destinationLatitude;
+        final double destinationLongitude;
+
+        volatile LivePosition latest;
+        volatile long latestMillis;
+        final AtomicBoolean dirty = new AtomicBoolean();
+        final Queue<TrailPoint> trail = new ConcurrentLinkedQueue<>();
+
+        // Last point put on the trail; guarded by this
+        private TrailPoint lastTrailPoint;
+
+        Track(Long responseId, Long requestId, Long donorId, double destinationLatitude, double destinationLongitude) {
+            this.responseId = responseId;
+            this.requestId = requestId;
+            this.donorId = donorId;
+            this.destinationLatitude = destinationLatitude;
+            this.destinationLongitude = destinationLongitude;
+        }
+
+        synchronized LivePosition update(double latitude, double longitude) {
+            long nowMillis = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            double distanceKm = GeoUtils.distanceKm(latitude, longitude, destinationLatitude, destinationLongitude);
+            long etaSeconds = Math.round(distanceKm / assumedSpeedKmh * 3600);
+            LivePosition position = new LivePosition(responseId, requestId, donorId, latitude, longitude,
+                    distanceKm, now.plusSeconds(etaSeconds), now);
+
+            // Downsample: a new trail point every trail interval, or sooner after a real move
+            if (lastTrailPoint == null
+                    || nowMillis - lastTrailPoint.recordedMillis() >= trailIntervalMillis
+                    || GeoUtils.distanceKm(lastTrailPoint.latitude(), lastTrailPoint.longitude(),
+                    latitude, longitude) >= trailMinDistanceKm) {
+                lastTrailPoint = new TrailPoint(responseId, latitude, longitude, now, nowMillis);
+                trail.add(lastTrailPoint);
+            }
+
+            latest = position;
+            latestMillis = nowMillis;
+            dirty.set(true);
+            return position;
+        }
+    }
+
+    private final class Subscription {
+
+        private final Long requestId;
+        private final SseEmitter emitter;
+        // responseId -> newest position not yet sent
+        private final Map<Long, LivePosition> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the write in flight started, 0 when none is
+        private volatile long writeStartedNanos;
+
+        Subscription(Long requestId, SseEmitter emitter) {
+            this.requestId = requestId;
+            this.emitter = emitter;
+        }
+
+        void offer(LivePosition position) {
+            if (closed.get()) {
+                return;
+            }
+            pending.put(position.responseId(), position);
+            if (draining.compareAndSet(false, true) && !senders.tryExecute(this::drain)) {
+                draining.set(false);
+                logger.info("Disconnecting responder location stream of request {}: no sender thread available",
+                        requestId);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                for (Long responseId : pending.keySet()) {
+                    LivePosition position = pending.remove(responseId);
+                    if (position != null && !closed.get()) {
+                        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                                .id(String.valueOf(position.responseId()))
+                                .name(EVENT_NAME)
+                                .data(objectMapper.writeValueAsString(position));
+                        writeStartedNanos = System.nanoTime();
+                        emitter.send(event);
+                        writeStartedNanos = 0;
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                logger.error("Could not serialize responder position", e);
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                writeStartedNanos = 0;
+                draining.set(false);
+            }
+            if (closed.get()) {
+                complete();
+            } else if (!pending.isEmpty() && draining.compareAndSet(false, true)
+                    && !senders.tryExecute(this::drain)) {
+                draining.set(false);
+                close();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptionsByRequest.computeIfPresent(requestId, (id, subscriptions) -> {
+                subscriptions.remove(this);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+            pending.clear();
+            if (draining.compareAndSet(false, true) && !senders.tryExecute(this::complete)) {
+                // No write is in flight, so completing here cannot block
+                complete();
+            }
+        }
+
+        boolean isStalled(long now) {
+            long started = writeStartedNanos;
+            return started != 0 && now - started > writeTimeoutNanos;
+        }
+
+        // Runs on a sender once no write is in flight; see EmergencyAlertBroadcaster
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    private record TrailPoint(Long responseId, double latitude, double longitude,
+                              LocalDateTime recordedAt, long recordedMillis) {
+    }
+
+    public record LivePosition(Long responseId, Long requestId, Long donorId, double latitude, double longitude,
+                               double distanceKm, LocalDateTime estimatedArrivalTime, LocalDateTime recordedAt) {
+    }
+}
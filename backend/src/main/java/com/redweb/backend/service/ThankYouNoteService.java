@@ -1,18 +1,23 @@
 package com.redweb.backend.service;
 
+import com.redweb.backend.dto.summary.ThankYouNoteSummary;
 import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.PointsLedgerEntry;
 import com.redweb.backend.model.ThankYouNote;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.DonationRepository;
 import com.redweb.backend.repository.ThankYouNoteRepository;
 import com.redweb.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("redweb.service")
 public class ThankYouNoteService {
 
     @Autowired
@@ -24,36 +29,40 @@ public class ThankYouNoteService {
     @Autowired
     private DonationRepository donationRepository;
 
-    public List<ThankYouNote> getAllThankYouNotes() {
-        return thankYouNoteRepository.findAll();
+    @Autowired
+    private PointsService pointsService;
+
+    public List<ThankYouNoteSummary> getAllThankYouNotes() {
+        return thankYouNoteRepository.findAllSummaries();
     }
 
     public ThankYouNote getThankYouNoteById(Long id) {
-        return thankYouNoteRepository.findById(id)
+        return thankYouNoteRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Thank you note not found with id: " + id));
     }
 
-    public List<ThankYouNote> getThankYouNotesByDonor(Long donorId) {
-        User donor = userRepository.findById(donorId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + donorId));
-        
-        return thankYouNoteRepository.findByDonor(donor);
+    public List<ThankYouNoteSummary> getThankYouNotesByDonor(Long donorId) {
+        if (userRepository.findById(donorId).isEmpty()) {
+            throw new RuntimeException("User not found with id: " + donorId);
+        }
+        return thankYouNoteRepository.findSummariesByDonorId(donorId);
     }
 
-    public List<ThankYouNote> getThankYouNotesByPatient(Long patientId) {
-        User patient = userRepository.findById(patientId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + patientId));
-        
-        return thankYouNoteRepository.findByPatient(patient);
+    public List<ThankYouNoteSummary> getThankYouNotesByPatient(Long patientId) {
+        if (userRepository.findById(patientId).isEmpty()) {
+            throw new RuntimeException("User not found with id: " + patientId);
+        }
+        return thankYouNoteRepository.findSummariesByPatientId(patientId);
     }
 
-    public List<ThankYouNote> getThankYouNotesByDonation(Long donationId) {
-        Donation donation = donationRepository.findById(donationId)
-                .orElseThrow(() -> new RuntimeException("Donation not found with id: " + donationId));
-        
-        return thankYouNoteRepository.findByDonation(donation);
+    public List<ThankYouNoteSummary> getThankYouNotesByDonation(Long donationId) {
+        if (!donationRepository.existsById(donationId)) {
+            throw new RuntimeException("Donation not found with id: " + donationId);
+        }
+        return thankYouNoteRepository.findSummariesByDonationId(donationId);
     }
 
+    @Transactional
     public ThankYouNote createThankYouNote(Long patientId, Long donorId, Long donationId, ThankYouNote thankYouNote) {
         User patient = userRepository.findById(patientId)
                 .orElseThrow(() -> new RuntimeException("Patient not found with id: " + patientId));
@@ -74,21 +83,12 @@ public class ThankYouNoteService {
         thankYouNote.setDonation(donation);
         thankYouNote.setCreatedAt(LocalDateTime.now());
         
-        // Add some points to the donor for receiving a thank you note
-        addDonorPoints(donorId);
-        
-        return thankYouNoteRepository.save(thankYouNote);
-    }
-
-    private void addDonorPoints(Long donorId) {
-        User donor = userRepository.findById(donorId)
-                .orElseThrow(() -> new RuntimeException("Donor not found with id: " + donorId));
+        ThankYouNote saved = thankYouNoteRepository.save(thankYouNote);
         
-        int currentPoints = Integer.parseInt(donor.getPoints());
-        int newPoints = currentPoints + 20; // Award 20 points for receiving a thank you note
-        donor.setPoints(String.valueOf(newPoints));
+        // Award 20 points to the donor for receiving a thank you note
+        pointsService.award(donor, 20, PointsLedgerEntry.Reason.THANK_YOU_NOTE, saved.getId());
         
-        userRepository.save(donor);
+        return saved;
     }
 
     public ThankYouNote updateThankYouNote(Long id, ThankYouNote thankYouNoteDetails) {
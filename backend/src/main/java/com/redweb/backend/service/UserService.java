@@ -1,22 +1,69 @@
 package com.redweb.backend.service;
 
+import com.redweb.backend.dto.page.CursorPage;
+import com.redweb.backend.dto.page.PageCursor;
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.PointsLedgerEntry;
 import com.redweb.backend.model.User;
 import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.security.AuthenticatedPrincipalCache;
+import com.redweb.backend.security.TokenRevocationList;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("redweb.service")
 public class UserService {
 
+    public static final double DEFAULT_EMERGENCY_RADIUS_KM = 25;
+    public static final int MAX_EMERGENCY_DONORS = 200;
+    // Every grid cell this far around the point is visited, so the radius must stay regional
+    public static final double MAX_EMERGENCY_RADIUS_KM = 200;
+
     @Autowired
     private UserRepository userRepository;
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Autowired
+    private DonorSpatialIndex donorSpatialIndex;
+
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public CursorPage<User> getUsersPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<User> slice = after == null
+                ? userRepository.findAllByOrderByCreatedAtDescIdDesc(PageCursor.pageable(size))
+                : userRepository.findPageBefore(after.createdAt(), after.id(), PageCursor.pageable(size));
+        return CursorPage.of(slice, user -> new PageCursor(user.getCreatedAt(), user.getId()));
     }
 
     public User getUserById(Long id) {
@@ -28,17 +75,80 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
 
-    public List<User> getUsersByRole(User.UserRole role) {
-        return userRepository.findByRole(role);
+    public CursorPage<User> getUsersByRole(User.UserRole role, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<User> slice = after == null
+                ? userRepository.findByRoleOrderByCreatedAtDescIdDesc(role, PageCursor.pageable(size))
+                : userRepository.findPageByRoleBefore(role, after.createdAt(), after.id(), PageCursor.pageable(size));
+        return CursorPage.of(slice, user -> new PageCursor(user.getCreatedAt(), user.getId()));
     }
 
-    public List<User> getDonorsForEmergency(String bloodType) {
-        return userRepository.findByEmergencyOptInAndRole(true, User.UserRole.DONOR)
+    public List<User> getDonorsForEmergency(BloodType bloodType) {
+        return recordDonorMatch("bloodType", bloodType, () -> userRepository.findByEmergencyOptInAndRoleAndBloodTypeIn(
+                true, User.UserRole.DONOR, bloodType.compatibleDonors()));
+    }
+
+    // Nearest-first compatible donors within the radius, served from the in-memory spatial index
+    public List<User> getDonorsForEmergency(BloodType bloodType, double latitude, double longitude,
+                                            double radiusKm, int limit) {
+        return recordDonorMatch("nearest", bloodType,
+                () -> findNearestDonors(bloodType, latitude, longitude, radiusKm, limit));
+    }
+
+    private List<User> findNearestDonors(BloodType bloodType, double latitude, double longitude,
+                                         double radiusKm, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_EMERGENCY_DONORS));
+        List<DonorSpatialIndex.DonorMatch> matches = donorSpatialIndex.findNearest(
+                latitude, longitude, boundedRadiusKm(radiusKm), boundedLimit, bloodType);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, User> usersById = userRepository.findAllById(
+                        matches.stream().map(DonorSpatialIndex.DonorMatch::userId).toList())
                 .stream()
-                .filter(user -> isCompatibleBloodType(user.getBloodType(), bloodType))
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Keep the index ordering; skip donors whose row disappeared since they were indexed
+        return matches.stream()
+                .map(match -> usersById.get(match.userId()))
+                .filter(user -> user != null)
                 .toList();
     }
 
+    // Between 0 and MAX_EMERGENCY_RADIUS_KM; anything that is not a positive number is 0
+    public static double boundedRadiusKm(double radiusKm) {
+        return radiusKm > 0 ? Math.min(radiusKm, MAX_EMERGENCY_RADIUS_KM) : 0;
+    }
+
+    public List<User> getDonorsForEmergency(EmergencyRequest request, double radiusKm, int limit) {
+        if (request.getBloodType() == null) {
+            // A legacy request whose blood type could not be read matches nobody
+            return List.of();
+        }
+        return getDonorsForEmergency(request.getBloodType(), request.getLatitude(),
+                request.getLongitude(), radiusKm, limit);
+    }
+
+    // Latency and result size of each donor search, per search kind and requested blood type.
+    // Searches that found nobody are told apart by the timer's outcome tag
+    private List<User> recordDonorMatch(String search, BloodType bloodType, Supplier<List<User>> match) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<User> donors = match.get();
+        sample.stop(Timer.builder("redweb.emergency.donor.match")
+                .description("Time to find the donors for an emergency")
+                .tags("search", search, "bloodType", bloodType.name(), "outcome", donors.isEmpty() ? "none" : "found")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        DistributionSummary.builder("redweb.emergency.donors.matched")
+                .description("Donors found for an emergency")
+                .tags("search", search, "bloodType", bloodType.name())
+                .serviceLevelObjectives(1, 5, 10, 25, 50, 100, MAX_EMERGENCY_DONORS)
+                .register(meterRegistry)
+                .record(donors.size());
+        return donors;
+    }
+
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
         
@@ -52,68 +162,29 @@ public class UserService {
         // Only update password if it's provided
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
             user.setPassword(userDetails.getPassword());
+            // Sessions opened with the old password must not outlive it
+            tokenRevocationList.revokeAllForUser(id);
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // The cached copy took its points from our read, which an award may have overtaken
+        entityCacheEvictor.evict(User.class, id);
+        donorSpatialIndex.update(savedUser);
+        leaderboard.update(savedUser);
+        principalCache.invalidateUser(id);
+        return savedUser;
     }
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        donorSpatialIndex.remove(id);
+        leaderboard.remove(id);
+        principalCache.invalidateUser(id);
+        tokenRevocationList.revokeAllForUser(id);
     }
 
     public boolean addUserPoints(Long userId, int points) {
-        User user = getUserById(userId);
-        int currentPoints = Integer.parseInt(user.getPoints());
-        int newPoints = currentPoints + points;
-        user.setPoints(String.valueOf(newPoints));
-        userRepository.save(user);
+        pointsService.award(userId, points, PointsLedgerEntry.Reason.ADJUSTMENT, null);
         return true;
     }
-
-    // Helper method to check blood type compatibility
-    private boolean isCompatibleBloodType(String donorType, String recipientType) {
-        // Basic blood type compatibility rules
-        // O- can donate to anyone
-        if (donorType.equals("O-")) return true;
-        
-        // O+ can donate to A+, B+, AB+, O+
-        if (donorType.equals("O+")) {
-            return recipientType.equals("A+") || recipientType.equals("B+") || 
-                   recipientType.equals("AB+") || recipientType.equals("O+");
-        }
-        
-        // A- can donate to A+, A-, AB+, AB-
-        if (donorType.equals("A-")) {
-            return recipientType.equals("A+") || recipientType.equals("A-") || 
-                   recipientType.equals("AB+") || recipientType.equals("AB-");
-        }
-        
-        // A+ can donate to A+, AB+
-        if (donorType.equals("A+")) {
-            return recipientType.equals("A+") || recipientType.equals("AB+");
-        }
-        
-        // B- can donate to B+, B-, AB+, AB-
-        if (donorType.equals("B-")) {
-            return recipientType.equals("B+") || recipientType.equals("B-") || 
-                   recipientType.equals("AB+") || recipientType.equals("AB-");
-        }
-        
-        // B+ can donate to B+, AB+
-        if (donorType.equals("B+")) {
-            return recipientType.equals("B+") || recipientType.equals("AB+");
-        }
-        
-        // AB- can donate to AB+, AB-
-        if (donorType.equals("AB-")) {
-            return recipientType.equals("AB+") || recipientType.equals("AB-");
-        }
-        
-        // AB+ can only donate to AB+
-        if (donorType.equals("AB+")) {
-            return recipientType.equals("AB+");
-        }
-        
-        return false;
-    }
 }
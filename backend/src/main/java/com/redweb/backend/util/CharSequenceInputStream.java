@@ -0,0 +1,45 @@
+package com.redweb.backend.util;
+
+import java.io.InputStream;
+
+/**
+ * Reads the chars of an ASCII CharSequence (such as a Base64 payload) as bytes, starting at
+ * an offset, without copying it into a byte array first.
+ */
+public class CharSequenceInputStream extends InputStream {
+
+    private final CharSequence chars;
+    private int position;
+
+    public CharSequenceInputStream(CharSequence chars, int offset) {
+        this.chars = chars;
+        this.position = offset;
+    }
+
+    @Override
+    public int read() {
+        return position < chars.length() ? chars.charAt(position++) & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int end = Math.min(chars.length(), position + length);
+        if (position >= end) {
+            return -1;
+        }
+        int count = end - position;
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = (byte) chars.charAt(position + i);
+        }
+        position = end;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chars.length() - position;
+    }
+}
@@ -0,0 +1,145 @@
+-- Schema that Hibernate (ddl-auto=update) generated from the original entities, before any
+-- of the later columns and tables existed. Databases created that way are baselined at this
+-- version and skip it, then get V2 onwards like a new database; see FlywayConfig.
+-- Constraint names are Hibernate's, so they match on both kinds of database.
+
+create table badges (
+    points_required integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    description TEXT not null,
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table donation_drive_blood_types (
+    drive_id bigint not null,
+    blood_type varchar(255)
+) engine=InnoDB;
+
+create table donation_drives (
+    current_donors integer not null,
+    latitude float(53) not null,
+    longitude float(53) not null,
+    max_capacity integer not null,
+    created_at datetime(6) not null,
+    end_date datetime(6) not null,
+    id bigint not null auto_increment,
+    organizer_id bigint not null,
+    start_date datetime(6) not null,
+    updated_at datetime(6) not null,
+    description TEXT not null,
+    status enum ('ACTIVE','CANCELLED','COMPLETED','UPCOMING') not null,
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table donations (
+    points_awarded integer not null,
+    units float(53) not null,
+    created_at datetime(6) not null,
+    donation_date datetime(6) not null,
+    donor_id bigint not null,
+    drive_id bigint,
+    emergency_request_id bigint,
+    id bigint not null auto_increment,
+    updated_at datetime(6) not null,
+    blood_type varchar(255) not null,
+    status enum ('CANCELLED','COMPLETED','SCHEDULED','VERIFIED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table emergency_requests (
+    latitude float(53) not null,
+    longitude float(53) not null,
+    units_needed integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    patient_id bigint not null,
+    updated_at datetime(6) not null,
+    blood_type varchar(255) not null,
+    notes TEXT,
+    status enum ('ACTIVE','CANCELLED','FULFILLED','PENDING') not null,
+    urgency_level enum ('CRITICAL','HIGH','LOW','MEDIUM') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table emergency_responses (
+    current_latitude float(53) not null,
+    current_longitude float(53) not null,
+    created_at datetime(6) not null,
+    donor_id bigint not null,
+    estimated_arrival_time datetime(6) not null,
+    id bigint not null auto_increment,
+    request_id bigint not null,
+    updated_at datetime(6) not null,
+    status enum ('ACCEPTED','ARRIVED','CANCELLED','COMPLETED','EN_ROUTE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table health_records (
+    last_donation_date date not null,
+    next_eligible_date date not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6) not null,
+    user_id bigint not null,
+    medical_conditions varchar(255) not null,
+    medical_notes varchar(255) not null,
+    medications varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table thank_you_notes (
+    is_anonymous bit not null,
+    created_at datetime(6) not null,
+    donation_id bigint not null,
+    donor_id bigint not null,
+    id bigint not null auto_increment,
+    patient_id bigint not null,
+    message TEXT not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_badges (
+    awarded_at datetime(6) not null,
+    badge_id bigint not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    emergency_opt_in bit not null,
+    latitude float(53) not null,
+    longitude float(53) not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6) not null,
+    blood_type varchar(255) not null,
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    hospital_location varchar(255),
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone varchar(255) not null,
+    points varchar(255) not null,
+    role enum ('ADMIN','DONOR','PATIENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table donation_drive_blood_types add constraint FKh80p3d1bncptfsfrwu21gldf1 foreign key (drive_id) references donation_drives (id);
+alter table donation_drives add constraint FKmf13xfin2krsb09edrfb9ljy2 foreign key (organizer_id) references users (id);
+alter table donations add constraint FKp8lwp38vg4a0v2y69d2krn562 foreign key (donor_id) references users (id);
+alter table donations add constraint FKorwqa2ppm6gv2wsrn0kdvt5nr foreign key (drive_id) references donation_drives (id);
+alter table donations add constraint FK3qwjrmjpa5ix4pb4sr3colin8 foreign key (emergency_request_id) references emergency_requests (id);
+alter table emergency_requests add constraint FK39f1ky2ubhxyswk1hhc7199so foreign key (patient_id) references users (id);
+alter table emergency_responses add constraint FKkrvbh6m5il2fw7gdfk523r83d foreign key (donor_id) references users (id);
+alter table emergency_responses add constraint FKkteknepa1hr6lh6gsmqydsi47 foreign key (request_id) references emergency_requests (id);
+alter table health_records add constraint FKnm8qm5054prog8qul6v2jce1d foreign key (user_id) references users (id);
+alter table thank_you_notes add constraint FKrigdf6wg3dtjoe787arep7732 foreign key (donation_id) references donations (id);
+alter table thank_you_notes add constraint FK268xmdfff7au1woe3rh64irfc foreign key (donor_id) references users (id);
+alter table thank_you_notes add constraint FKstw2pynjbpqps9wx3mxuypm8a foreign key (patient_id) references users (id);
+alter table user_badges add constraint FKk6e00pguaij0uke6xr81gt045 foreign key (badge_id) references badges (id);
+alter table user_badges add constraint FKr46ah81sjymsn035m4ojstn5s foreign key (user_id) references users (id);
@@ -0,0 +1,36 @@
+-- Indexes for the repository finders. Listings are ordered newest first by (created_at, id),
+-- so each filter column is followed by those two and the rows come off the index in order.
+-- Foreign key columns with a composite index here need no index of their own.
+
+-- DonationRepository
+create index idx_donations_donor_created on donations (donor_id, created_at, id);
+create index idx_donations_drive_created on donations (drive_id, created_at, id);
+create index idx_donations_request_created on donations (emergency_request_id, created_at, id);
+create index idx_donations_status_created on donations (status, created_at, id);
+create index idx_donations_blood_type_created on donations (blood_type, created_at, id);
+create index idx_donations_created on donations (created_at, id);
+create index idx_donations_donation_date on donations (donation_date);
+
+-- EmergencyRequestRepository
+create index idx_emergency_requests_patient_created on emergency_requests (patient_id, created_at, id);
+create index idx_emergency_requests_status_created on emergency_requests (status, created_at, id);
+create index idx_emergency_requests_status_blood_type on emergency_requests (status, blood_type, created_at, id);
+create index idx_emergency_requests_status_urgency on emergency_requests (status, urgency_level);
+create index idx_emergency_requests_blood_type_created on emergency_requests (blood_type, created_at, id);
+create index idx_emergency_requests_urgency_created on emergency_requests (urgency_level, created_at, id);
+create index idx_emergency_requests_created on emergency_requests (created_at, id);
+
+-- EmergencyResponseRepository
+create index idx_emergency_responses_donor_created on emergency_responses (donor_id, created_at, id);
+create index idx_emergency_responses_request_created on emergency_responses (request_id, created_at, id);
+create index idx_emergency_responses_status_created on emergency_responses (status, created_at, id);
+create index idx_emergency_responses_created on emergency_responses (created_at, id);
+
+-- HealthRecordRepository
+create index idx_health_records_next_eligible on health_records (next_eligible_date, user_id);
+
+-- UserRepository (email already has its unique index)
+create index idx_users_opt_in_role_blood_type on users (emergency_opt_in, role, blood_type);
+create index idx_users_role_created on users (role, created_at, id);
+create index idx_users_blood_type on users (blood_type);
+create index idx_users_created on users (created_at, id);
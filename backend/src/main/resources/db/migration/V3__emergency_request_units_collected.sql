@@ -0,0 +1,8 @@
+-- Running total of donated units on each emergency request, filled in from the donations
+-- already recorded against it.
+
+alter table emergency_requests add column units_collected float(53);
+
+update emergency_requests r set units_collected =
+    (select coalesce(sum(d.units), 0) from donations d where d.emergency_request_id = r.id)
+    where r.units_collected is null;
@@ -0,0 +1,12 @@
+-- Revoked JWTs, kept until the token would have expired anyway.
+
+create table revoked_tokens (
+    expires_at datetime(6) not null,
+    id bigint not null auto_increment,
+    revoked_at datetime(6) not null,
+    user_id bigint not null,
+    jti varchar(36),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,12 @@
+-- GPS trail of each emergency response, written in batches by ResponderLocationTracker.
+
+create table responder_location_points (
+    latitude float(53) not null,
+    longitude float(53) not null,
+    id bigint not null auto_increment,
+    recorded_at datetime(6) not null,
+    response_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_responder_location_points_response on responder_location_points (response_id, recorded_at);
@@ -0,0 +1,22 @@
+-- Points move to an append-only ledger, with users.points kept as the numeric balance.
+
+create table points_ledger (
+    points integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    reference_id bigint,
+    user_id bigint not null,
+    reason enum ('ADJUSTMENT','DRIVE_DONATION','EMERGENCY_DONATION','OPENING_BALANCE','THANK_YOU_NOTE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_points_ledger_user on points_ledger (user_id, id);
+
+-- users.points was a string; anything that never parsed as a number counted as zero before as well
+update users set points = '0' where points is null or trim(points) not regexp '^-?[0-9]+$';
+
+alter table users modify points integer not null default 0;
+
+-- Every existing balance gets an opening entry to start from
+insert into points_ledger (user_id, points, reason, reference_id, created_at)
+    select u.id, u.points, 'OPENING_BALANCE', null, current_timestamp from users u where u.points <> 0;
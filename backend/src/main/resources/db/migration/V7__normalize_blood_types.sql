@@ -0,0 +1,33 @@
+-- Blood types used to be free text. Spellings that name a real type ("o positive", "B POS",
+-- "AB_NEGATIVE") are rewritten to the labels BloodTypeConverter reads, and anything else
+-- becomes null instead of failing every read of the row. Donations and emergency requests
+-- left without one take the donor's or patient's blood type where that is known.
+
+alter table users modify blood_type varchar(255) null;
+alter table donations modify blood_type varchar(255) null;
+alter table emergency_requests modify blood_type varchar(255) null;
+
+update users set blood_type =
+    replace(replace(replace(replace(upper(replace(replace(blood_type, ' ', ''), '_', '')),
+        'POSITIVE', '+'), 'NEGATIVE', '-'), 'POS', '+'), 'NEG', '-')
+    where blood_type not in ('O-', 'O+', 'A-', 'A+', 'B-', 'B+', 'AB-', 'AB+');
+update users set blood_type = null
+    where blood_type not in ('O-', 'O+', 'A-', 'A+', 'B-', 'B+', 'AB-', 'AB+');
+
+update donations set blood_type =
+    replace(replace(replace(replace(upper(replace(replace(blood_type, ' ', ''), '_', '')),
+        'POSITIVE', '+'), 'NEGATIVE', '-'), 'POS', '+'), 'NEG', '-')
+    where blood_type not in ('O-', 'O+', 'A-', 'A+', 'B-', 'B+', 'AB-', 'AB+');
+update donations set blood_type = null
+    where blood_type not in ('O-', 'O+', 'A-', 'A+', 'B-', 'B+', 'AB-', 'AB+');
+update donations d set blood_type = (select u.blood_type from users u where u.id = d.donor_id)
+    where d.blood_type is null;
+
+update emergency_requests set blood_type =
+    replace(replace(replace(replace(upper(replace(replace(blood_type, ' ', ''), '_', '')),
+        'POSITIVE', '+'), 'NEGATIVE', '-'), 'POS', '+'), 'NEG', '-')
+    where blood_type not in ('O-', 'O+', 'A-', 'A+', 'B-', 'B+', 'AB-', 'AB+');
+update emergency_requests set blood_type = null
+    where blood_type not in ('O-', 'O+', 'A-', 'A+', 'B-', 'B+', 'AB-', 'AB+');
+update emergency_requests r set blood_type = (select u.blood_type from users u where u.id = r.patient_id)
+    where r.blood_type is null;
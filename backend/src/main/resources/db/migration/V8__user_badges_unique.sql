@@ -0,0 +1,12 @@
+-- A user holds each badge once. Awards that raced each other could insert the same pair
+-- twice, so the later copies are removed before the constraint goes on. The constraint's
+-- index leads with user_id, so it also serves the user foreign key.
+
+delete from user_badges where id in (
+    select id from (
+        select ub.id from user_badges ub
+        join user_badges kept on kept.user_id = ub.user_id and kept.badge_id = ub.badge_id and kept.id < ub.id
+    ) duplicates
+);
+
+alter table user_badges add constraint uk_user_badges_user_badge unique (user_id, badge_id);
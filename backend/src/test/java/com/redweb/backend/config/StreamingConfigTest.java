@@ -0,0 +1,84 @@
+package com.redweb.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StreamingConfigTest {
+
+    @Test
+    void sendsOnDaemonPlatformThreadsByDefault() throws Exception {
+        SseSenders senders = new StreamingConfig().sseSenders(false, 4, 4);
+        try {
+            Thread sender = threadOf(senders::tryExecute);
+
+            assertTrue(sender.getName().startsWith("sse-sender-"));
+            assertTrue(sender.isDaemon());
+            assertFalse(isVirtual(sender));
+        } finally {
+            senders.close();
+        }
+    }
+
+    // Thread.ofVirtual only exists from Java 21; the build itself targets 17
+    @Test
+    void sendsOnVirtualThreadsWhenTheyAreEnabled() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        Thread sender = threadOf(new StreamingConfig().sseSenders(true, 4, 4)::tryExecute);
+        Executor tasks = new VirtualThreadsConfig().applicationTaskExecutor();
+        Thread task = threadOf(runnable -> {
+            tasks.execute(runnable);
+            return true;
+        });
+
+        assertTrue(isVirtual(sender));
+        assertEquals("sse-vt-0", sender.getName());
+        assertTrue(isVirtual(task));
+    }
+
+    @Test
+    void turnsWritesAwayOnceThreadsAndQueueAreFull() throws Exception {
+        SseSenders senders = new StreamingConfig().sseSenders(false, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertTrue(senders.tryExecute(() -> awaitQuietly(release)));
+            assertTrue(senders.tryExecute(() -> { }));
+
+            assertFalse(senders.tryExecute(() -> { }));
+        } finally {
+            release.countDown();
+            senders.close();
+        }
+    }
+
+    private static Thread threadOf(Predicate<Runnable> senders) throws Exception {
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        assertTrue(senders.test(() -> thread.complete(Thread.currentThread())));
+        return thread.get(5, TimeUnit.SECONDS);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        if (Runtime.version().feature() < 21) {
+            return false;
+        }
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -0,0 +1,32 @@
+package com.redweb.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BloodTypeParamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unknownBloodTypeIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/donations/blood-type/XYZ")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/emergency-requests/blood-type/XYZ")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/emergency-requests/active/blood-type/XYZ")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users/emergency-donors").param("bloodType", "XYZ")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void acceptsLabelsAndEnumNames() throws Exception {
+        mockMvc.perform(get("/api/donations/blood-type/{bloodType}", "O+")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/donations/blood-type/AB_NEGATIVE")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,43 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.repository.BadgeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DatabaseStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void reportsTheSlowQueryThreshold() throws Exception {
+        badgeRepository.count();
+
+        mockMvc.perform(get("/api/admin/db-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slowStatementMs").value(500))
+                .andExpect(jsonPath("$.slowQueries").isArray())
+                // Pool metrics are only published through Micrometer
+                .andExpect(jsonPath("$.connections").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "DONOR")
+    void isForAdminsOnly() throws Exception {
+        mockMvc.perform(get("/api/admin/db-stats")).andExpect(status().isForbidden());
+    }
+}
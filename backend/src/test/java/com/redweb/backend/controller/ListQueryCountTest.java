@@ -0,0 +1,257 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.model.Badge;
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.EmergencyResponse;
+import com.redweb.backend.model.ThankYouNote;
+import com.redweb.backend.model.User;
+import com.redweb.backend.model.UserBadge;
+import com.redweb.backend.repository.BadgeRepository;
+import com.redweb.backend.repository.DonationDriveRepository;
+import com.redweb.backend.repository.DonationRepository;
+import com.redweb.backend.repository.EmergencyRequestRepository;
+import com.redweb.backend.repository.EmergencyResponseRepository;
+import com.redweb.backend.repository.ThankYouNoteRepository;
+import com.redweb.backend.repository.UserBadgeRepository;
+import com.redweb.backend.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ListQueryCountTest {
+
+    private static final int ROWS = 10;
+
+    // The existence check on the path variable, then the list itself, however many rows it has
+    private static final int MAX_STATEMENTS = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private DonationDriveRepository donationDriveRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private EmergencyRequestRepository emergencyRequestRepository;
+
+    @Autowired
+    private EmergencyResponseRepository emergencyResponseRepository;
+
+    @Autowired
+    private ThankYouNoteRepository thankYouNoteRepository;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Autowired
+    private UserBadgeRepository userBadgeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User donor;
+    private User patient;
+    private User organizer;
+    private Donation donation;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        donor = testUsers.create(User.UserRole.DONOR);
+        patient = testUsers.create(User.UserRole.PATIENT);
+        organizer = testUsers.create(User.UserRole.ADMIN);
+        List<Badge> badges = badgeRepository.findAll();
+
+        for (int i = 0; i < ROWS; i++) {
+            DonationDrive drive = createDrive();
+            EmergencyRequest request = createRequest();
+            donation = createDonation(drive, i % 2 == 0 ? null : request);
+            createResponse(request);
+            createNote(donation);
+            testUsers.createDonor();
+            if (i < badges.size()) {
+                createUserBadge(badges.get(i));
+            }
+        }
+    }
+
+    @Test
+    void donationsByDonor() throws Exception {
+        assertBounded("/api/donations/donor/" + donor.getId(), ROWS);
+    }
+
+    @Test
+    void thankYouNotesByDonor() throws Exception {
+        assertBounded("/api/thank-you-notes/donor/" + donor.getId(), ROWS);
+    }
+
+    @Test
+    void emergencyResponsesByDonor() throws Exception {
+        assertBounded("/api/emergency-responses/donor/" + donor.getId(), ROWS);
+    }
+
+    @Test
+    void emergencyRequestsByPatient() throws Exception {
+        assertBounded("/api/emergency-requests/patient/" + patient.getId(), ROWS);
+    }
+
+    @Test
+    void drivesByOrganizer() throws Exception {
+        assertBounded("/api/donation-drives/organizer/" + organizer.getId(), ROWS);
+    }
+
+    @Test
+    void badgesOfUser() throws Exception {
+        assertBounded("/api/badges/user/" + donor.getId(), Math.min(ROWS, badgeRepository.findAll().size()));
+    }
+
+    @Test
+    void activeFeedReadsOnlyTheRequestTable() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/emergency-requests/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].urgencyLevel").exists())
+                .andExpect(jsonPath("$[0].patientId").doesNotExist())
+                .andExpect(jsonPath("$[0].patientName").doesNotExist());
+        assertTrue(statistics.getPrepareStatementCount() <= 1,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void eligibleDonorsFetchTheirUsers() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/health-records/eligible-donors")).andExpect(status().isOk());
+        assertTrue(statistics.getPrepareStatementCount() <= 1,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void singleDonationLoadsItsGraphAtOnceAndHidesPasswords() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/donations/" + donation.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.donor.id").value(donor.getId()))
+                .andExpect(jsonPath("$.emergencyRequest.patient.id").value(patient.getId()))
+                .andExpect(content().string(not(containsString("password"))));
+        assertTrue(statistics.getPrepareStatementCount() <= 1,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private void assertBounded(String url, int rows) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(rows)));
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS,
+                url + " statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private DonationDrive createDrive() {
+        DonationDrive drive = new DonationDrive();
+        drive.setOrganizer(organizer);
+        drive.setTitle("Listing drive");
+        drive.setDescription("Test");
+        drive.setLatitude(1.0);
+        drive.setLongitude(1.0);
+        drive.setStartDate(LocalDateTime.now());
+        drive.setEndDate(LocalDateTime.now().plusDays(1));
+        drive.setRequiredBloodTypes(List.of("O+", "A+"));
+        drive.setMaxCapacity(10);
+        drive.setCurrentDonors(0);
+        drive.setStatus(DonationDrive.DriveStatus.ACTIVE);
+        return donationDriveRepository.save(drive);
+    }
+
+    private EmergencyRequest createRequest() {
+        EmergencyRequest request = new EmergencyRequest();
+        request.setPatient(patient);
+        request.setBloodType(BloodType.O_POSITIVE);
+        request.setUnitsNeeded(2);
+        request.setLatitude(1.0);
+        request.setLongitude(1.0);
+        request.setStatus(EmergencyRequest.RequestStatus.ACTIVE);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.HIGH);
+        request.setCreatedAt(LocalDateTime.now());
+        request.setUpdatedAt(LocalDateTime.now());
+        return emergencyRequestRepository.save(request);
+    }
+
+    private Donation createDonation(DonationDrive drive, EmergencyRequest request) {
+        Donation donation = new Donation();
+        donation.setDonor(donor);
+        donation.setDrive(request == null ? drive : null);
+        donation.setEmergencyRequest(request);
+        donation.setDonationDate(LocalDateTime.now());
+        donation.setBloodType(BloodType.O_POSITIVE);
+        donation.setUnits(1);
+        donation.setPointsAwarded(100);
+        donation.setStatus(Donation.DonationStatus.COMPLETED);
+        donation.setCreatedAt(LocalDateTime.now());
+        donation.setUpdatedAt(LocalDateTime.now());
+        return donationRepository.save(donation);
+    }
+
+    private void createResponse(EmergencyRequest request) {
+        EmergencyResponse response = new EmergencyResponse();
+        response.setRequest(request);
+        response.setDonor(donor);
+        response.setStatus(EmergencyResponse.ResponseStatus.EN_ROUTE);
+        response.setEstimatedArrivalTime(LocalDateTime.now().plusMinutes(20));
+        response.setCurrentLatitude(1.0);
+        response.setCurrentLongitude(1.0);
+        response.setCreatedAt(LocalDateTime.now());
+        response.setUpdatedAt(LocalDateTime.now());
+        emergencyResponseRepository.save(response);
+    }
+
+    private void createNote(Donation donation) {
+        ThankYouNote note = new ThankYouNote();
+        note.setDonor(donor);
+        note.setPatient(patient);
+        note.setDonation(donation);
+        note.setMessage("Thank you");
+        note.setAnonymous(false);
+        note.setCreatedAt(LocalDateTime.now());
+        thankYouNoteRepository.save(note);
+    }
+
+    private void createUserBadge(Badge badge) {
+        UserBadge userBadge = new UserBadge();
+        userBadge.setUser(donor);
+        userBadge.setBadge(badge);
+        userBadge.setAwardedAt(LocalDateTime.now());
+        userBadgeRepository.save(userBadge);
+    }
+}
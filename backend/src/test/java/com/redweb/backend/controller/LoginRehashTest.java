@@ -0,0 +1,66 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.auth.bcrypt.strength=5")
+@AutoConfigureMockMvc
+class LoginRehashTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void loginRehashesPasswordsBelowTheConfiguredStrength() throws Exception {
+        User user = createUser(new BCryptPasswordEncoder(4).encode("secret"));
+
+        login(user.getEmail(), "secret");
+
+        String rehashed = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("$2a$05$"), rehashed);
+        assertTrue(new BCryptPasswordEncoder().matches("secret", rehashed));
+        // The new hash is used from then on
+        login(user.getEmail(), "secret");
+    }
+
+    @Test
+    void loginKeepsHashesAtTheConfiguredStrength() throws Exception {
+        String hash = new BCryptPasswordEncoder(5).encode("secret");
+        User user = createUser(hash);
+
+        login(user.getEmail(), "secret");
+
+        assertEquals(hash, userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
+    private void login(String email, String password) throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").exists());
+    }
+
+    private User createUser(String passwordHash) {
+        User user = TestUsers.newUser(User.UserRole.DONOR, 0);
+        user.setPassword(passwordHash);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,69 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.User;
+import com.redweb.backend.service.EmergencyRequestService;
+import com.redweb.backend.service.UserService;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private EmergencyRequestService emergencyRequestService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void prometheusScrapeCoversServicesDonorMatchingJwtAndThePools() throws Exception {
+        User patient = testUsers.create(User.UserRole.PATIENT);
+        EmergencyRequest request = new EmergencyRequest();
+        request.setBloodType(BloodType.O_NEGATIVE);
+        request.setUnitsNeeded(2);
+        request.setLatitude(6.9);
+        request.setLongitude(79.8);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.HIGH);
+        emergencyRequestService.createEmergencyRequest(patient.getId(), request);
+        userService.getDonorsForEmergency(request, UserService.DEFAULT_EMERGENCY_RADIUS_KM, 10);
+        passwordEncoder.encode("secret");
+        mockMvc.perform(get("/api/badges").header("Authorization", "Bearer not-a-token"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "redweb_service_seconds_count{class=\"com.redweb.backend.service.EmergencyRequestService\",exception=\"none\",method=\"createEmergencyRequest\",}")))
+                .andExpect(content().string(containsString(
+                        "redweb_emergency_donor_match_seconds_bucket{bloodType=\"O_NEGATIVE\",outcome=\"none\",search=\"nearest\",")))
+                .andExpect(content().string(containsString(
+                        "redweb_emergency_donors_matched_bucket{bloodType=\"O_NEGATIVE\",search=\"nearest\",le=\"1.0\",} 1.0")))
+                .andExpect(content().string(containsString("redweb_jwt_authentication_seconds_count{outcome=\"rejected\",}")))
+                .andExpect(content().string(containsString("redweb_password_hashing_seconds_count{operation=\"hash\",}")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_count")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+}
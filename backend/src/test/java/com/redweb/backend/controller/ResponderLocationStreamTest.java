@@ -0,0 +1,68 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.User;
+import com.redweb.backend.security.UserPrincipal;
+import com.redweb.backend.service.EmergencyRequestService;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponderLocationStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmergencyRequestService emergencyRequestService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    private User patient;
+    private String streamUrl;
+
+    @BeforeEach
+    void setUp() {
+        patient = testUsers.create(User.UserRole.PATIENT);
+        EmergencyRequest request = new EmergencyRequest();
+        request.setBloodType(BloodType.O_POSITIVE);
+        request.setUnitsNeeded(1);
+        request.setLatitude(1.35);
+        request.setLongitude(103.82);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.HIGH);
+        request = emergencyRequestService.createEmergencyRequest(patient.getId(), request);
+        streamUrl = "/api/emergency-responses/request/" + request.getId() + "/stream";
+    }
+
+    @Test
+    void requiresAuthentication() throws Exception {
+        mockMvc.perform(get(streamUrl)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void isClosedToOtherUsers() throws Exception {
+        UserPrincipal donor = UserPrincipal.create(testUsers.create(User.UserRole.DONOR));
+        mockMvc.perform(get(streamUrl).with(user(donor))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void opensForThePatientAndAdmins() throws Exception {
+        mockMvc.perform(get(streamUrl).with(user(UserPrincipal.create(patient))))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get(streamUrl).with(user(UserPrincipal.create(testUsers.create(User.UserRole.ADMIN)))))
+                .andExpect(request().asyncStarted());
+    }
+}
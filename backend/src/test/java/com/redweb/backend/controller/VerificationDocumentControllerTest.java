@@ -0,0 +1,110 @@
+package com.redweb.backend.controller;
+
+import com.redweb.backend.service.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class VerificationDocumentControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @TempDir
+    Path uploadDir;
+
+    private MockMvc mockMvc;
+    private FileStorageService.StoredFile stored;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileStorageService storage = new FileStorageService(uploadDir.toString(), DataSize.ofMegabytes(1));
+        stored = storage.store(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.US_ASCII)), "scan.pdf");
+        VerificationDocumentController controller = new VerificationDocumentController();
+        ReflectionTestUtils.setField(controller, "fileStorageService", storage);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        url = "/api/files/verification/" + stored.filename();
+    }
+
+    @Test
+    void servesWholeFileWithValidators() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + stored.sha256() + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pdf"))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void answersMatchingEtagWithNotModified() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"" + stored.sha256() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void servesSingleRange() throws Exception {
+        MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-15"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("abcdef"))
+                .andReturn();
+        assertEquals(List.of("bytes 10-15/36"), result.getResponse().getHeaders(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeIsStale() throws Exception {
+        MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-3")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT))
+                .andReturn();
+        assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-200"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */36"));
+    }
+
+    @Test
+    void handsSingleRangeToSendfileWhenSupported() throws Exception {
+        MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-6")
+                        .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "6"))
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 30-35/36"))
+                .andExpect(content().string(""))
+                .andReturn();
+        assertEquals(30L, result.getRequest().getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(36L, result.getRequest().getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void hidesAnythingThatIsNotAStoredName() throws Exception {
+        mockMvc.perform(get("/api/files/verification/00/00/" + stored.sha256() + ".pdf"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/files/verification/.tmp/ab/x.part"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,76 @@
+package com.redweb.backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Runs V7 against rows written before blood types were labels
+class BloodTypeMigrationTest {
+
+    @Test
+    void normalizesLegacySpellingsAndClearsUnreadableOnes() {
+        // One connection, so LAST_INSERT_ID() sees the previous insert
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource("jdbc:h2:mem:bloodtypes-"
+                + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        Flyway.configure().dataSource(dataSource).target("6").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        long positive = insertUser(jdbcTemplate, "o positive");
+        long negative = insertUser(jdbcTemplate, "AB_NEGATIVE");
+        long shorthand = insertUser(jdbcTemplate, " b pos ");
+        long unreadable = insertUser(jdbcTemplate, "unknown");
+        long labelled = insertUser(jdbcTemplate, "A-");
+        long donation = insertDonation(jdbcTemplate, shorthand, "??");
+        long request = insertRequest(jdbcTemplate, unreadable, "n/a");
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertEquals("O+", bloodType(jdbcTemplate, "users", positive));
+        assertEquals("AB-", bloodType(jdbcTemplate, "users", negative));
+        assertEquals("B+", bloodType(jdbcTemplate, "users", shorthand));
+        assertNull(bloodType(jdbcTemplate, "users", unreadable));
+        assertEquals("A-", bloodType(jdbcTemplate, "users", labelled));
+        // Falls back to the donor's, and stays empty when the patient's is unknown too
+        assertEquals("B+", bloodType(jdbcTemplate, "donations", donation));
+        assertNull(bloodType(jdbcTemplate, "emergency_requests", request));
+        dataSource.destroy();
+    }
+
+    private static long insertUser(JdbcTemplate jdbcTemplate, String bloodType) {
+        jdbcTemplate.update("INSERT INTO users (emergency_opt_in, latitude, longitude, points, created_at, updated_at, "
+                + "blood_type, email, first_name, last_name, password, phone, role) "
+                + "VALUES (false, 0, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, 'Legacy', 'User', 'x', '0', 'DONOR')",
+                bloodType, UUID.randomUUID() + "@redweb.test");
+        return lastId(jdbcTemplate);
+    }
+
+    private static long insertDonation(JdbcTemplate jdbcTemplate, long donorId, String bloodType) {
+        jdbcTemplate.update("INSERT INTO donations (points_awarded, units, created_at, donation_date, donor_id, "
+                + "updated_at, blood_type, status) "
+                + "VALUES (0, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, CURRENT_TIMESTAMP, ?, 'COMPLETED')",
+                donorId, bloodType);
+        return lastId(jdbcTemplate);
+    }
+
+    private static long insertRequest(JdbcTemplate jdbcTemplate, long patientId, String bloodType) {
+        jdbcTemplate.update("INSERT INTO emergency_requests (latitude, longitude, units_needed, created_at, patient_id, "
+                + "updated_at, blood_type, status, urgency_level) "
+                + "VALUES (0, 0, 1, CURRENT_TIMESTAMP, ?, CURRENT_TIMESTAMP, ?, 'ACTIVE', 'HIGH')",
+                patientId, bloodType);
+        return lastId(jdbcTemplate);
+    }
+
+    private static long lastId(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private static String bloodType(JdbcTemplate jdbcTemplate, String table, long id) {
+        return jdbcTemplate.queryForObject("SELECT blood_type FROM " + table + " WHERE id = ?", String.class, id);
+    }
+}
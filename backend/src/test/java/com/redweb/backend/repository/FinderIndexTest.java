@@ -0,0 +1,234 @@
+package com.redweb.backend.repository;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.EmergencyResponse;
+import com.redweb.backend.model.User;
+import com.redweb.backend.support.TestUsers;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every filtering finder of the indexed repositories, captures the SQL Hibernate sends
+ * and fails if H2's plan for it reads any table in full. The first page of an unfiltered
+ * listing (findSummaryPage, findAllSummaries, ...) is left out: H2 plans every read without
+ * a condition as a scan, while MySQL walks the (created_at, id) index for the LIMIT.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.redweb.backend.repository.FinderIndexTest$RecordingInspector")
+class FinderIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private EmergencyRequestRepository emergencyRequestRepository;
+
+    @Autowired
+    private EmergencyResponseRepository emergencyResponseRepository;
+
+    @Autowired
+    private HealthRecordRepository healthRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private DonationDriveRepository donationDriveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private DonationDrive drive;
+    private EmergencyRequest request;
+
+    @BeforeEach
+    void setUp() {
+        user = testUsers.create(User.UserRole.DONOR);
+        drive = createDrive(user);
+        request = createRequest(user);
+    }
+
+    @Test
+    void donationFinders() {
+        assertIndexed(() -> donationRepository.findByDonor(user));
+        assertIndexed(() -> donationRepository.findByDrive(drive));
+        assertIndexed(() -> donationRepository.findByEmergencyRequest(request));
+        assertIndexed(() -> donationRepository.findByStatus(Donation.DonationStatus.COMPLETED));
+        assertIndexed(() -> donationRepository.findByDonorAndStatus(user, Donation.DonationStatus.COMPLETED));
+        assertIndexed(() -> donationRepository.findByDonationDateBetween(NOW.minusDays(1), NOW));
+        assertIndexed(() -> donationRepository.findByBloodType(BloodType.O_POSITIVE));
+        assertIndexed(() -> donationRepository.findWithAssociationsById(1L));
+        assertIndexed(() -> donationRepository.findSummariesByDonorId(user.getId()));
+        assertIndexed(() -> donationRepository.findSummariesByDriveId(drive.getId()));
+        assertIndexed(() -> donationRepository.findSummariesByEmergencyRequestId(request.getId()));
+        assertIndexed(() -> donationRepository.findSummariesByStatus(Donation.DonationStatus.COMPLETED));
+        assertIndexed(() -> donationRepository.findSummariesByBloodType(BloodType.O_POSITIVE));
+        assertIndexed(() -> donationRepository.findSummaryPageBefore(NOW, 1L, PAGE));
+    }
+
+    @Test
+    void emergencyRequestFinders() {
+        EmergencyRequest.RequestStatus active = EmergencyRequest.RequestStatus.ACTIVE;
+        EmergencyRequest.UrgencyLevel high = EmergencyRequest.UrgencyLevel.HIGH;
+        assertIndexed(() -> emergencyRequestRepository.findByPatient(user));
+        assertIndexed(() -> emergencyRequestRepository.findByStatus(active));
+        assertIndexed(() -> emergencyRequestRepository.findByUrgencyLevel(high));
+        assertIndexed(() -> emergencyRequestRepository.findByBloodType(BloodType.O_POSITIVE));
+        assertIndexed(() -> emergencyRequestRepository.findByStatusAndBloodType(active, BloodType.O_POSITIVE));
+        assertIndexed(() -> emergencyRequestRepository.findByStatusAndUrgencyLevel(active, high));
+        assertIndexed(() -> emergencyRequestRepository.findWithPatientById(request.getId()));
+        assertIndexed(() -> emergencyRequestRepository.findSummariesByPatientId(user.getId()));
+        assertIndexed(() -> emergencyRequestRepository.findSummariesByBloodType(BloodType.O_POSITIVE));
+        assertIndexed(() -> emergencyRequestRepository.findCardsByStatus(active));
+        assertIndexed(() -> emergencyRequestRepository.findCardsByStatusAndBloodType(active, BloodType.O_POSITIVE));
+        assertIndexed(() -> emergencyRequestRepository.findSummariesByUrgencyLevel(high));
+        assertIndexed(() -> emergencyRequestRepository.findSummaryPageBefore(NOW, 1L, PAGE));
+    }
+
+    @Test
+    void emergencyResponseFinders() {
+        EmergencyResponse.ResponseStatus enRoute = EmergencyResponse.ResponseStatus.EN_ROUTE;
+        assertIndexed(() -> emergencyResponseRepository.findByDonor(user));
+        assertIndexed(() -> emergencyResponseRepository.findByRequest(request));
+        assertIndexed(() -> emergencyResponseRepository.findByStatus(enRoute));
+        assertIndexed(() -> emergencyResponseRepository.findByDonorAndStatus(user, enRoute));
+        assertIndexed(() -> emergencyResponseRepository.findByRequestAndStatus(request, enRoute));
+        assertIndexed(() -> emergencyResponseRepository.findByDonorAndRequest(user, request));
+        assertIndexed(() -> emergencyResponseRepository.findWithAssociationsById(1L));
+        assertIndexed(() -> emergencyResponseRepository.findWithRequestById(1L));
+        assertIndexed(() -> emergencyResponseRepository.findSummariesByDonorId(user.getId()));
+        assertIndexed(() -> emergencyResponseRepository.findSummariesByRequestId(request.getId()));
+        assertIndexed(() -> emergencyResponseRepository.findSummariesByStatus(enRoute));
+    }
+
+    @Test
+    void healthRecordFinders() {
+        assertIndexed(() -> healthRecordRepository.findByUser(user));
+        assertIndexed(() -> healthRecordRepository.findByUserIdWithUser(user.getId()));
+        assertIndexed(() -> healthRecordRepository.findWithUserById(1L));
+        assertIndexed(() -> healthRecordRepository.findByNextEligibleDateBefore(LocalDate.now()));
+        assertIndexed(() -> healthRecordRepository.findByNextEligibleDateBeforeAndUser_Role(
+                LocalDate.now(), User.UserRole.DONOR));
+    }
+
+    @Test
+    void userFinders() {
+        // A fresh address, so the cached id lookup goes to the database
+        assertIndexed(() -> userRepository.findIdByEmail("index-" + System.nanoTime() + "@redweb.test"));
+        assertIndexed(() -> userRepository.existsByEmail(user.getEmail()));
+        assertIndexed(() -> userRepository.findPointsById(user.getId()));
+        assertIndexed(() -> userRepository.findPointsStandingsByRole(User.UserRole.DONOR));
+        assertIndexed(() -> userRepository.findByRole(User.UserRole.DONOR));
+        assertIndexed(() -> userRepository.findByBloodType(BloodType.O_POSITIVE));
+        assertIndexed(() -> userRepository.findByEmergencyOptInAndRole(true, User.UserRole.DONOR));
+        assertIndexed(() -> userRepository.findByEmergencyOptInAndRoleAndBloodTypeIn(true, User.UserRole.DONOR,
+                List.of(BloodType.O_NEGATIVE, BloodType.O_POSITIVE)));
+        assertIndexed(() -> userRepository.findPageBefore(NOW, 1L, PAGE));
+        assertIndexed(() -> userRepository.findByRoleOrderByCreatedAtDescIdDesc(User.UserRole.DONOR, PAGE));
+        assertIndexed(() -> userRepository.findPageByRoleBefore(User.UserRole.DONOR, NOW, 1L, PAGE));
+    }
+
+    private void assertIndexed(Runnable finder) {
+        RecordingInspector.start();
+        finder.run();
+        List<String> statements = RecordingInspector.stop();
+        assertFalse(statements.isEmpty(), "the finder ran no SQL");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(".tableScan"), () -> "Full scan in\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // The plan only depends on which columns are compared, not on the values
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private DonationDrive createDrive(User organizer) {
+        DonationDrive drive = new DonationDrive();
+        drive.setOrganizer(organizer);
+        drive.setTitle("Index drive");
+        drive.setDescription("Test");
+        drive.setStartDate(LocalDateTime.now());
+        drive.setEndDate(LocalDateTime.now().plusDays(1));
+        drive.setMaxCapacity(10);
+        drive.setStatus(DonationDrive.DriveStatus.ACTIVE);
+        return donationDriveRepository.save(drive);
+    }
+
+    private EmergencyRequest createRequest(User patient) {
+        EmergencyRequest request = new EmergencyRequest();
+        request.setPatient(patient);
+        request.setBloodType(BloodType.O_POSITIVE);
+        request.setUnitsNeeded(1);
+        request.setStatus(EmergencyRequest.RequestStatus.ACTIVE);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.HIGH);
+        request.setCreatedAt(LocalDateTime.now());
+        request.setUpdatedAt(LocalDateTime.now());
+        return emergencyRequestRepository.save(request);
+    }
+
+    // Collects the selects issued on the calling thread between start and stop
+    public static class RecordingInspector implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+        static void start() {
+            RECORDED.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> recorded = RECORDED.get();
+            RECORDED.remove();
+            return recorded;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> recorded = RECORDED.get();
+            if (recorded != null && sql.regionMatches(true, 0, "select", 0, 6)) {
+                recorded.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.redweb.backend.security;
+
+import com.redweb.backend.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TokenRevocationListTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final TokenRevocationList revocationList = new TokenRevocationList();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revocationList, "revokedTokenRepository", mock(RevokedTokenRepository.class));
+        ReflectionTestUtils.setField(revocationList, "jwtExpirationMs", TimeUnit.DAYS.toMillis(1));
+    }
+
+    @Test
+    void revokesTokensIssuedBeforeTheCutoffSecond() {
+        // iat as the JWT carries it, truncated to the second
+        long previousSecond = (System.currentTimeMillis() / 1000 - 1) * 1000;
+
+        revocationList.revokeAllForUser(USER_ID);
+
+        assertTrue(revocationList.isRevoked("old", USER_ID, previousSecond));
+        assertFalse(revocationList.isRevoked("other-user", USER_ID + 1, previousSecond));
+    }
+
+    @Test
+    void keepsTokenFromReLoginInTheSameSecond() {
+        revocationList.revokeAllForUser(USER_ID);
+        long reLogin = System.currentTimeMillis() / 1000 * 1000;
+
+        assertFalse(revocationList.isRevoked("new", USER_ID, reLogin));
+    }
+
+    @Test
+    void revokesSingleTokens() {
+        revocationList.revokeToken("logged-out", USER_ID, System.currentTimeMillis() + 60_000);
+
+        assertTrue(revocationList.isRevoked("logged-out", USER_ID, System.currentTimeMillis()));
+        assertFalse(revocationList.isRevoked("still-valid", USER_ID, System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.Badge;
+import com.redweb.backend.model.PointsLedgerEntry;
+import com.redweb.backend.model.User;
+import com.redweb.backend.model.UserBadge;
+import com.redweb.backend.repository.UserBadgeRepository;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BadgeServiceTest {
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Autowired
+    private BadgeThresholds badgeThresholds;
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private UserBadgeRepository userBadgeRepository;
+
+    @Test
+    void newBadgeThresholdIsPickedUpByLaterAwards() {
+        Badge badge = createBadge(7777);
+        assertTrue(badgeThresholds.crossed(7776, 7777).contains(badge.getId()));
+
+        User user = testUsers.create(User.UserRole.DONOR, 7770);
+        pointsService.award(user.getId(), 10, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+        assertTrue(holds(user, badge));
+
+        badge.setPointsRequired(8888);
+        badgeService.updateBadge(badge.getId(), badge);
+        assertTrue(badgeThresholds.crossed(7776, 7777).isEmpty());
+        assertTrue(badgeThresholds.crossed(8887, 8888).contains(badge.getId()));
+    }
+
+    @Test
+    void concurrentAwardsHoldEachBadgeOnce() throws Exception {
+        User user = testUsers.create(User.UserRole.DONOR, 600);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return badgeService.checkAndAwardBadges(user.getId());
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Seeded thresholds of 100, 150 and 500, each held once
+        assertEquals(3, userBadgeRepository.findByUser(user).size());
+    }
+
+    @Test
+    void reevaluationAwardsBadgesAlreadyReachedOnce() {
+        // Balance set directly, as before the ledger, so no award event ever fired
+        User user = testUsers.create(User.UserRole.DONOR, 600);
+
+        badgeService.reevaluateAllUsers(2);
+
+        // Seeded thresholds of 100, 150 and 500
+        assertEquals(3, userBadgeRepository.findByUser(user).size());
+        assertEquals(0, badgeService.reevaluateAllUsers(2));
+    }
+
+    @Test
+    void checkAndAwardSkipsBadgesAlreadyHeld() {
+        User user = testUsers.create(User.UserRole.DONOR, 200);
+        Badge firstTimeDonor = badgeService.getBadgesByPointsThreshold(100).stream()
+                .filter(badge -> badge.getPointsRequired() == 100).findFirst().orElseThrow();
+        badgeService.awardBadgeToUser(user.getId(), firstTimeDonor.getId());
+
+        assertEquals(1, badgeService.checkAndAwardBadges(user.getId()));
+        assertEquals(2, userBadgeRepository.findByUser(user).size());
+    }
+
+    private boolean holds(User user, Badge badge) {
+        List<UserBadge> held = userBadgeRepository.findByUser(user);
+        return held.stream().anyMatch(userBadge -> userBadge.getBadge().getId().equals(badge.getId()));
+    }
+
+    private Badge createBadge(int pointsRequired) {
+        Badge badge = new Badge();
+        badge.setTitle("Test " + pointsRequired);
+        badge.setDescription("Test badge");
+        badge.setPointsRequired(pointsRequired);
+        return badgeService.createBadge(badge);
+    }
+}
@@ -0,0 +1,144 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.DonationDriveRepository;
+import com.redweb.backend.repository.HealthRecordRepository;
+import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.support.TestUsers;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DonationStatementCountTest {
+
+    // Above every seeded badge, so the awards cross no threshold
+    private static final int START_POINTS = 5000;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private EmergencyRequestService emergencyRequestService;
+
+    @Autowired
+    private DonationDriveRepository donationDriveRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private HealthRecordRepository healthRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void driveDonationLoadsEachAggregateOnce() {
+        User donor = testUsers.createDonor(START_POINTS);
+        DonationDrive drive = createDrive(testUsers.create(User.UserRole.ADMIN));
+
+        statistics.clear();
+        donationService.createDriveDonation(donor.getId(), drive.getId(), newDonation());
+
+        // Donor with health record, drive, health record update, insert, then the points
+        // award's balance read and ledger entry. No badge threshold is crossed, so badge
+        // evaluation runs no query. The slot reservation and the points increment go through
+        // JdbcTemplate and are not counted by Hibernate.
+        // Loading the donor separately and saving the whole user row made it 7 before the ledger
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(START_POINTS + 100, userRepository.findById(donor.getId()).orElseThrow().getPoints());
+        assertEquals(LocalDate.now().plusMonths(3), nextEligibleDate(donor));
+    }
+
+    @Test
+    void emergencyDonationLoadsEachAggregateOnce() {
+        User donor = testUsers.createDonor(START_POINTS);
+        EmergencyRequest request = new EmergencyRequest();
+        request.setBloodType(BloodType.O_POSITIVE);
+        request.setUnitsNeeded(5);
+        request.setLatitude(1.0);
+        request.setLongitude(1.0);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.HIGH);
+        request = emergencyRequestService.createEmergencyRequest(testUsers.create(User.UserRole.PATIENT).getId(), request);
+
+        statistics.clear();
+        donationService.createEmergencyDonation(donor.getId(), request.getId(), newDonation());
+
+        // Three more than the drive path: the request's conditional updates and refresh
+        assertEquals(9, statistics.getPrepareStatementCount());
+        assertEquals(START_POINTS + 250, userRepository.findById(donor.getId()).orElseThrow().getPoints());
+        assertEquals(LocalDate.now().plusMonths(3), nextEligibleDate(donor));
+    }
+
+    @Test
+    void updatesToOneTableShareABatch() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(testUsers.create(User.UserRole.DONOR).getId());
+        }
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findAllById(ids).forEach(user -> user.setPhone("5555555555")));
+
+        // One select, then the ten updates through a single batched statement
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private LocalDate nextEligibleDate(User donor) {
+        return healthRecordRepository.findByUserIdWithUser(donor.getId()).orElseThrow().getNextEligibleDate();
+    }
+
+    private DonationDrive createDrive(User organizer) {
+        DonationDrive drive = new DonationDrive();
+        drive.setOrganizer(organizer);
+        drive.setTitle("Statement count drive");
+        drive.setDescription("Test");
+        drive.setLatitude(1.0);
+        drive.setLongitude(1.0);
+        drive.setStartDate(LocalDateTime.now());
+        drive.setEndDate(LocalDateTime.now().plusDays(1));
+        drive.setMaxCapacity(10);
+        drive.setCurrentDonors(0);
+        drive.setStatus(DonationDrive.DriveStatus.ACTIVE);
+        return donationDriveRepository.save(drive);
+    }
+
+    private static Donation newDonation() {
+        Donation donation = new Donation();
+        donation.setBloodType(BloodType.O_POSITIVE);
+        donation.setUnits(1);
+        donation.setPointsAwarded(100);
+        return donation;
+    }
+}
@@ -0,0 +1,104 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.User;
+import com.redweb.backend.support.TestUsers;
+import com.redweb.backend.util.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DonorSpatialIndexTest {
+
+    private static final double LAT = 14.5995;
+    private static final double LON = 120.9842;
+
+    private final DonorSpatialIndex index = new DonorSpatialIndex();
+
+    @Test
+    void addsMovesAndRemovesDonors() {
+        User donor = donor(1L, BloodType.O_POSITIVE, LAT, LON);
+        index.update(donor);
+        assertEquals(List.of(1L), nearest(LAT, LON, 5, BloodType.O_POSITIVE));
+
+        donor.setLatitude(LAT + 1);
+        index.update(donor);
+        assertEquals(List.of(), nearest(LAT, LON, 5, BloodType.O_POSITIVE));
+        assertEquals(List.of(1L), nearest(LAT + 1, LON, 5, BloodType.O_POSITIVE));
+        assertEquals(1, index.size());
+
+        donor.setEmergencyOptIn(false);
+        index.update(donor);
+        assertEquals(List.of(), nearest(LAT + 1, LON, 5, BloodType.O_POSITIVE));
+
+        index.update(donor(2L, BloodType.O_POSITIVE, LAT, LON));
+        index.remove(2L);
+        assertEquals(0, index.size());
+        assertEquals(List.of(), nearest(LAT, LON, 5, BloodType.O_POSITIVE));
+    }
+
+    @Test
+    void returnsDonorsWithinTheRadiusNearestFirst() {
+        index.update(donor(1L, BloodType.O_POSITIVE, LAT + km(3), LON));
+        index.update(donor(2L, BloodType.O_POSITIVE, LAT + km(1), LON));
+        index.update(donor(3L, BloodType.O_POSITIVE, LAT - km(10), LON));
+
+        assertEquals(List.of(2L, 1L), nearest(LAT, LON, 5, BloodType.O_POSITIVE));
+        assertEquals(List.of(2L, 1L, 3L), nearest(LAT, LON, 11, BloodType.O_POSITIVE));
+        assertEquals(List.of(2L), index.findNearest(LAT, LON, 11, 1, BloodType.O_POSITIVE).stream()
+                .map(DonorSpatialIndex.DonorMatch::userId).toList());
+    }
+
+    @Test
+    void matchesOnlyDonorsTheRecipientCanReceiveFrom() {
+        index.update(donor(1L, BloodType.O_NEGATIVE, LAT, LON));
+        index.update(donor(2L, BloodType.A_POSITIVE, LAT, LON));
+        index.update(donor(3L, BloodType.AB_POSITIVE, LAT, LON));
+
+        assertEquals(List.of(1L), nearest(LAT, LON, 5, BloodType.O_NEGATIVE));
+        assertEquals(List.of(1L, 2L), nearest(LAT, LON, 5, BloodType.A_POSITIVE).stream().sorted().toList());
+        assertEquals(3, nearest(LAT, LON, 5, BloodType.AB_POSITIVE).size());
+    }
+
+    @Test
+    void searchesAcrossTheAntimeridian() {
+        index.update(donor(1L, BloodType.O_POSITIVE, 0, -179.99));
+        index.update(donor(2L, BloodType.O_POSITIVE, 0, 179.98));
+
+        assertEquals(List.of(2L, 1L), nearest(0, 179.99, 5, BloodType.O_POSITIVE));
+        assertEquals(List.of(1L, 2L), nearest(0, -179.995, 5, BloodType.O_POSITIVE));
+    }
+
+    @Test
+    void searchRadiusIsCapped() {
+        assertEquals(UserService.MAX_EMERGENCY_RADIUS_KM, UserService.boundedRadiusKm(20_000));
+        assertEquals(25, UserService.boundedRadiusKm(25));
+        assertEquals(0, UserService.boundedRadiusKm(-1));
+        assertEquals(0, UserService.boundedRadiusKm(Double.NaN));
+        assertTrue(UserService.boundedRadiusKm(Double.POSITIVE_INFINITY) <= UserService.MAX_EMERGENCY_RADIUS_KM);
+    }
+
+    private List<Long> nearest(double latitude, double longitude, double radiusKm, BloodType recipientType) {
+        return index.findNearest(latitude, longitude, radiusKm, 10, recipientType).stream()
+                .map(DonorSpatialIndex.DonorMatch::userId)
+                .toList();
+    }
+
+    private static User donor(Long id, BloodType bloodType, double latitude, double longitude) {
+        User donor = TestUsers.newUser(User.UserRole.DONOR, 0);
+        donor.setId(id);
+        donor.setBloodType(bloodType);
+        donor.setLatitude(latitude);
+        donor.setLongitude(longitude);
+        donor.setEmergencyOptIn(true);
+        return donor;
+    }
+
+    // Degrees of latitude covering the distance
+    private static double km(double distanceKm) {
+        return distanceKm / GeoUtils.KM_PER_DEGREE;
+    }
+}
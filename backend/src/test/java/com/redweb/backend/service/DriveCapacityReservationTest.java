@@ -0,0 +1,142 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.DonationDriveRepository;
+import com.redweb.backend.repository.DonationRepository;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class DriveCapacityReservationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriveCapacityReservationTest.class);
+
+    private static final int CAPACITY = 50;
+    private static final int REGISTRATIONS = 400;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonationDriveService donationDriveService;
+
+    @Autowired
+    private DonationDriveRepository donationDriveRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Test
+    void parallelRegistrationsNeverOverbookDrive() throws Exception {
+        DonationDrive drive = createDrive(CAPACITY);
+        List<Long> donorIds = createDonors(REGISTRATIONS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long donorId : donorIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    donationService.createDriveDonation(donorId, drive.getId(), newDonation());
+                    accepted.incrementAndGet();
+                } catch (RuntimeException e) {
+                    assertEquals(DriveCapacityReservation.CAPACITY_REACHED, e.getMessage());
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double elapsedMs = (System.nanoTime() - startedAt) / 1_000_000.0;
+        executor.shutdown();
+        logger.info("Drive capacity stress: {} registrations on {} threads in {} ms ({} req/s), {} accepted, {} rejected",
+                REGISTRATIONS, THREADS, String.format("%.1f", elapsedMs),
+                String.format("%.0f", REGISTRATIONS / (elapsedMs / 1000)), accepted.get(), rejected.get());
+
+        DonationDrive reloaded = donationDriveRepository.findById(drive.getId()).orElseThrow();
+        assertEquals(CAPACITY, accepted.get());
+        assertEquals(REGISTRATIONS - CAPACITY, rejected.get());
+        assertEquals(CAPACITY, reloaded.getCurrentDonors());
+        assertEquals(CAPACITY, donationRepository.findByDrive(reloaded).size());
+    }
+
+    @Test
+    void releasedSlotCanBeTakenAgain() {
+        DonationDrive drive = createDrive(1);
+        List<Long> donorIds = createDonors(2);
+
+        donationService.createDriveDonation(donorIds.get(0), drive.getId(), newDonation());
+        RuntimeException full = assertThrows(RuntimeException.class,
+                () -> donationService.createDriveDonation(donorIds.get(1), drive.getId(), newDonation()));
+        assertEquals(DriveCapacityReservation.CAPACITY_REACHED, full.getMessage());
+
+        assertEquals(0, donationDriveService.decrementCurrentDonors(drive.getId()).getCurrentDonors());
+        donationService.createDriveDonation(donorIds.get(1), drive.getId(), newDonation());
+        assertEquals(1, donationDriveRepository.findById(drive.getId()).orElseThrow().getCurrentDonors());
+    }
+
+    private DonationDrive createDrive(int capacity) {
+        User organizer = testUsers.create(User.UserRole.ADMIN);
+
+        DonationDrive drive = new DonationDrive();
+        drive.setOrganizer(organizer);
+        drive.setTitle("Stress test drive");
+        drive.setDescription("Concurrent sign-ups");
+        drive.setLatitude(1.3521);
+        drive.setLongitude(103.8198);
+        drive.setStartDate(LocalDateTime.now().minusDays(1));
+        drive.setEndDate(LocalDateTime.now().plusDays(1));
+        drive.setMaxCapacity(capacity);
+        drive.setCurrentDonors(0);
+        drive.setStatus(DonationDrive.DriveStatus.ACTIVE);
+        return donationDriveRepository.save(drive);
+    }
+
+    private List<Long> createDonors(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(testUsers.createDonor().getId());
+        }
+        return ids;
+    }
+
+    private static Donation newDonation() {
+        Donation donation = new Donation();
+        donation.setBloodType(BloodType.O_POSITIVE);
+        donation.setUnits(1);
+        donation.setPointsAwarded(100);
+        return donation;
+    }
+}
@@ -0,0 +1,204 @@
+package com.redweb.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redweb.backend.config.SseSenders;
+import com.redweb.backend.config.StreamingConfig;
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmergencyAlertBroadcasterTest {
+
+    // Central Manila; ~0.9 km and ~110 km away
+    private static final double LAT = 14.5995;
+    private static final double LON = 120.9842;
+    private static final double NEAR_LAT = 14.6075;
+    private static final double FAR_LAT = 15.5995;
+
+    private final ExecutorService senders = Executors.newCachedThreadPool();
+    private EmergencyAlertBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+        senders.shutdownNow();
+    }
+
+    @Test
+    void pushesOnlyToCompatibleDonorsInRange() throws Exception {
+        broadcaster = newBroadcaster(32, Duration.ofMinutes(5));
+        RecordingEmitter universalNear = new RecordingEmitter();
+        RecordingEmitter incompatibleNear = new RecordingEmitter();
+        RecordingEmitter universalFar = new RecordingEmitter();
+        broadcaster.register(universalNear, 1L, BloodType.O_NEGATIVE, NEAR_LAT, LON, 25);
+        broadcaster.register(incompatibleNear, 2L, BloodType.AB_POSITIVE, NEAR_LAT, LON, 25);
+        broadcaster.register(universalFar, 3L, BloodType.O_NEGATIVE, FAR_LAT, LON, 25);
+
+        assertEquals(1, broadcaster.publish(request(7L, BloodType.A_POSITIVE)));
+
+        await(() -> universalNear.events.size() == 2);
+        assertTrue(universalNear.events.get(1).contains("event:" + EmergencyAlertBroadcaster.EVENT_NAME));
+        assertTrue(universalNear.events.get(1).contains("\"bloodType\":\"A+\""));
+        // Only the "connected" comment
+        await(() -> incompatibleNear.events.size() == 1 && universalFar.events.size() == 1);
+    }
+
+    @Test
+    void disconnectsSlowSubscriberWithoutStallingOthers() throws Exception {
+        broadcaster = newBroadcaster(4, Duration.ofMinutes(5));
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        RecordingEmitter fast = new RecordingEmitter();
+        EmergencyAlertBroadcaster.Subscription slowSubscription =
+                broadcaster.register(slow, 1L, BloodType.O_POSITIVE, LAT, LON, 25);
+        broadcaster.register(fast, 2L, BloodType.O_POSITIVE, LAT, LON, 25);
+
+        long publishNanos = 0;
+        for (long id = 1; id <= 20; id++) {
+            long started = System.nanoTime();
+            broadcaster.publish(request(id, BloodType.O_POSITIVE));
+            publishNanos += System.nanoTime() - started;
+            // The fast client keeps up; the slow one is stuck on its first write
+            int expected = (int) id + 1;
+            await(() -> fast.events.size() == expected);
+        }
+        assertTrue(publishNanos < TimeUnit.SECONDS.toNanos(1), "publisher was blocked");
+
+        assertTrue(slowSubscription.isClosed());
+        assertEquals(1, broadcaster.getSubscriberCount());
+        // Completion waits for the stalled write instead of blocking the publisher on it
+        assertFalse(slow.completed);
+
+        unblock.countDown();
+        await(() -> slow.completed);
+        assertFalse(fast.completed);
+    }
+
+    @Test
+    void disconnectsStalledWritersAndKeepsServingTheRest() throws Exception {
+        broadcaster = newBroadcaster(32, Duration.ofMillis(200));
+        CountDownLatch unblock = new CountDownLatch(1);
+        // More stalled phones than a fixed pool of sender threads would have had
+        List<EmergencyAlertBroadcaster.Subscription> stalled = new CopyOnWriteArrayList<>();
+        List<RecordingEmitter> stalledEmitters = new CopyOnWriteArrayList<>();
+        for (long userId = 1; userId <= 16; userId++) {
+            RecordingEmitter emitter = new RecordingEmitter(unblock);
+            stalledEmitters.add(emitter);
+            stalled.add(broadcaster.register(emitter, userId, BloodType.O_POSITIVE, LAT, LON, 25));
+        }
+        RecordingEmitter fast = new RecordingEmitter();
+        broadcaster.register(fast, 100L, BloodType.O_POSITIVE, LAT, LON, 25);
+
+        broadcaster.publish(request(1L, BloodType.O_POSITIVE));
+        await(() -> fast.events.size() == 2);
+
+        // Closed by the write timeout alone, with nothing more published to them
+        await(() -> stalled.stream().allMatch(EmergencyAlertBroadcaster.Subscription::isClosed));
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        unblock.countDown();
+        await(() -> stalledEmitters.stream().allMatch(emitter -> emitter.completed));
+        assertFalse(fast.completed);
+    }
+
+    @Test
+    void closesSubscriptionsNoSenderCanTakeOn() throws Exception {
+        // One sender thread and room for one more write
+        broadcaster = newBroadcaster(new StreamingConfig().sseSenders(false, 1, 1), 32, Duration.ofMinutes(5));
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(unblock);
+        RecordingEmitter waiting = new RecordingEmitter();
+        RecordingEmitter turnedAway = new RecordingEmitter();
+        broadcaster.register(stalled, 1L, BloodType.O_POSITIVE, LAT, LON, 25);
+        broadcaster.register(waiting, 2L, BloodType.O_POSITIVE, LAT, LON, 25);
+
+        EmergencyAlertBroadcaster.Subscription rejected =
+                broadcaster.register(turnedAway, 3L, BloodType.O_POSITIVE, LAT, LON, 25);
+
+        assertTrue(rejected.isClosed());
+        assertTrue(turnedAway.completed);
+        assertEquals(2, broadcaster.getSubscriberCount());
+        unblock.countDown();
+        await(() -> stalled.events.size() == 1 && waiting.events.size() == 1);
+    }
+
+    private EmergencyAlertBroadcaster newBroadcaster(int queueCapacity, Duration writeTimeout) {
+        return newBroadcaster(new SseSenders(senders), queueCapacity, writeTimeout);
+    }
+
+    private EmergencyAlertBroadcaster newBroadcaster(SseSenders sseSenders, int queueCapacity, Duration writeTimeout) {
+        return new EmergencyAlertBroadcaster(new ObjectMapper().findAndRegisterModules(), sseSenders,
+                queueCapacity, Duration.ofMinutes(5), Duration.ofMinutes(5), writeTimeout);
+    }
+
+    private static EmergencyRequest request(Long id, BloodType bloodType) {
+        EmergencyRequest request = new EmergencyRequest();
+        request.setId(id);
+        request.setBloodType(bloodType);
+        request.setUnitsNeeded(2);
+        request.setLatitude(LAT);
+        request.setLongitude(LON);
+        request.setStatus(EmergencyRequest.RequestStatus.ACTIVE);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.HIGH);
+        request.setCreatedAt(LocalDateTime.now());
+        return request;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    // Records what would be written to the client; optionally blocks like a stalled socket
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch unblock;
+        volatile boolean completed;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            events.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
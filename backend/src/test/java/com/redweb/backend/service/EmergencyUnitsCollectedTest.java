@@ -0,0 +1,114 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.Donation;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.DonationRepository;
+import com.redweb.backend.repository.EmergencyRequestRepository;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class EmergencyUnitsCollectedTest {
+
+    private static final int UNITS_NEEDED = 10;
+    private static final int DONORS = 60;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private EmergencyRequestService emergencyRequestService;
+
+    @Autowired
+    private EmergencyRequestRepository emergencyRequestRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Test
+    void concurrentDonationsFulfillRequestExactlyOnce() throws Exception {
+        User patient = testUsers.create(User.UserRole.PATIENT);
+        EmergencyRequest request = emergencyRequestService.createEmergencyRequest(patient.getId(), newRequest());
+
+        List<Long> donorIds = new ArrayList<>();
+        for (int i = 0; i < DONORS; i++) {
+            donorIds.add(testUsers.createDonor().getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long donorId : donorIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    donationService.createEmergencyDonation(donorId, request.getId(), newDonation());
+                    accepted.incrementAndGet();
+                } catch (RuntimeException e) {
+                    assertEquals("Emergency request is not active", e.getMessage());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        EmergencyRequest reloaded = emergencyRequestRepository.findById(request.getId()).orElseThrow();
+        assertEquals(EmergencyRequest.RequestStatus.FULFILLED, reloaded.getStatus());
+        assertEquals(UNITS_NEEDED, accepted.get());
+        assertEquals(UNITS_NEEDED, reloaded.getUnitsCollected());
+        assertEquals(UNITS_NEEDED, donationRepository.findByEmergencyRequest(reloaded).size());
+    }
+
+    @Test
+    void deletingDonationAdjustsUnitsCollected() {
+        User patient = testUsers.create(User.UserRole.PATIENT);
+        EmergencyRequest request = emergencyRequestService.createEmergencyRequest(patient.getId(), newRequest());
+
+        Donation donation = donationService.createEmergencyDonation(testUsers.createDonor().getId(), request.getId(), newDonation());
+        assertEquals(1.0, donation.getEmergencyRequest().getUnitsCollected());
+
+        donationService.deleteDonation(donation.getId());
+        assertEquals(0.0, emergencyRequestRepository.findById(request.getId()).orElseThrow().getUnitsCollected());
+    }
+
+    private EmergencyRequest newRequest() {
+        EmergencyRequest request = new EmergencyRequest();
+        request.setBloodType(BloodType.O_POSITIVE);
+        request.setUnitsNeeded(UNITS_NEEDED);
+        request.setLatitude(1.3521);
+        request.setLongitude(103.8198);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.CRITICAL);
+        return request;
+    }
+
+    private static Donation newDonation() {
+        Donation donation = new Donation();
+        donation.setBloodType(BloodType.O_POSITIVE);
+        donation.setUnits(1);
+        donation.setPointsAwarded(150);
+        return donation;
+    }
+}
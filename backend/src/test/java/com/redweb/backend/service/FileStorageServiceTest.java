@@ -0,0 +1,87 @@
+package com.redweb.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Test
+    void storesContentAddressedAndDeduplicates() throws Exception {
+        FileStorageService storage = new FileStorageService(uploadDir.toString(), DataSize.ofMegabytes(1));
+        byte[] content = "scan of a medical certificate".getBytes();
+
+        FileStorageService.StoredFile first = storage.store(new ByteArrayInputStream(content), "Scan.PDF");
+        FileStorageService.StoredFile second = storage.store(new ByteArrayInputStream(content), "copy.pdf");
+
+        assertEquals(first.filename(), second.filename());
+        assertTrue(first.filename().matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.pdf"));
+        assertFalse(first.duplicate());
+        assertTrue(second.duplicate());
+        assertEquals(content.length, first.size());
+        assertArrayEquals(content, Files.readAllBytes(storage.resolve(first.filename())));
+    }
+
+    @Test
+    void rejectsOversizedUploadsWithoutLeavingTempFiles() throws Exception {
+        FileStorageService storage = new FileStorageService(uploadDir.toString(), DataSize.ofKilobytes(1));
+        byte[] content = new byte[4096];
+
+        assertThrows(FileStorageService.FileTooLargeException.class,
+                () -> storage.store(new ByteArrayInputStream(content), "big.bin"));
+        assertThrows(FileStorageService.FileTooLargeException.class,
+                () -> storage.store(new ByteArrayInputStream(content), "big.bin", content.length));
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void stopsReadingOneByteAfterTheLimit() throws Exception {
+        FileStorageService storage = new FileStorageService(uploadDir.toString(), DataSize.ofKilobytes(1));
+        // Larger than a transfer chunk, which a check after each transfer would read in full
+        ByteArrayInputStream content = new ByteArrayInputStream(new byte[4 << 20]);
+
+        assertThrows(FileStorageService.FileTooLargeException.class, () -> storage.store(content, "big.bin"));
+
+        assertEquals((4 << 20) - 1025, content.available());
+    }
+
+    @Test
+    void decodesBase64DataUrisWhileStoring() throws Exception {
+        FileStorageService storage = new FileStorageService(uploadDir.toString(), DataSize.ofMegabytes(1));
+        byte[] content = new byte[10_001];
+        new Random(7).nextBytes(content);
+        String encoded = Base64.getEncoder().encodeToString(content);
+
+        FileStorageService.StoredFile plain = storage.storeBase64(encoded, "id.png");
+        FileStorageService.StoredFile dataUri = storage.storeBase64("data:image/png;base64," + encoded, "id.png");
+
+        assertEquals(plain.filename(), dataUri.filename());
+        assertEquals(content.length, plain.size());
+        assertArrayEquals(content, Files.readAllBytes(storage.resolve(plain.filename())));
+    }
+
+    @Test
+    void refusesPathsOutsideUploadRoot() throws Exception {
+        FileStorageService storage = new FileStorageService(uploadDir.toString(), DataSize.ofKilobytes(1));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("../application.properties"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve(".tmp/x.part"));
+    }
+}
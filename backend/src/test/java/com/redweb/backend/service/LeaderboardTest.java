@@ -0,0 +1,153 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.PointsLedgerEntry;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class LeaderboardTest {
+
+    // Far above anyone else the other tests create
+    private static final int BASE = 1_000_000;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void ranksDonorsAndFollowsAwards() {
+        User first = createUser(User.UserRole.DONOR, "Ada", BASE + 300);
+        User tiedA = createUser(User.UserRole.DONOR, "Ben", BASE + 200);
+        User tiedB = createUser(User.UserRole.DONOR, "Cy", BASE + 200);
+        User patient = createUser(User.UserRole.PATIENT, "Pat", BASE + 900);
+        leaderboard.rebuild();
+
+        List<Leaderboard.Standing> top = leaderboard.top(3);
+        assertEquals(List.of(first.getId(), tiedA.getId(), tiedB.getId()),
+                top.stream().map(Leaderboard.Standing::userId).toList());
+        assertEquals("Ada T.", top.get(0).displayName());
+        // Ties share a rank
+        assertEquals(2, leaderboard.rankOf(tiedB.getId()).rank());
+        assertNull(leaderboard.rankOf(patient.getId()));
+
+        pointsService.award(tiedB.getId(), 150, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+
+        Leaderboard.Standing leader = leaderboard.rankOf(tiedB.getId());
+        assertEquals(1, leader.rank());
+        assertEquals(BASE + 350, leader.points());
+        assertEquals(List.of(tiedB.getId(), first.getId()),
+                leaderboard.neighbors(first.getId(), 1).stream().map(Leaderboard.Standing::userId).toList()
+                        .subList(0, 2));
+
+        userService.deleteUser(tiedB.getId());
+        assertNull(leaderboard.rankOf(tiedB.getId()));
+        assertEquals(1, leaderboard.rankOf(first.getId()).rank());
+    }
+
+    @Test
+    void awardToDonorNotYetRankedAddsThem() {
+        User late = createUser(User.UserRole.DONOR, "Dee", 500);
+        leaderboard.remove(late.getId());
+
+        pointsService.award(late.getId(), 10, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+
+        assertEquals(510, leaderboard.rankOf(late.getId()).points());
+    }
+
+    @Test
+    void awardsMadeWhileRebuildingSurviveTheSwap() {
+        UserRepository users = mock(UserRepository.class);
+        Leaderboard fresh = new Leaderboard();
+        ReflectionTestUtils.setField(fresh, "userRepository", users);
+        List<UserRepository.PointsStanding> beforeAward = List.of(standing(7L, "Eve", 100));
+        when(users.findPointsStandingsByRole(User.UserRole.DONOR)).thenReturn(beforeAward);
+        fresh.rebuild();
+
+        // The award commits after the rebuild read the table, but before the swap
+        when(users.findPointsStandingsByRole(User.UserRole.DONOR)).thenAnswer(invocation -> {
+            fresh.onPointsAwarded(award(7L, 50, 150, 1));
+            return beforeAward;
+        });
+        fresh.rebuild();
+
+        assertEquals(150, fresh.rankOf(7L).points());
+    }
+
+    @Test
+    void awardsTheRebuildAlreadyReadAreNotCountedTwice() {
+        UserRepository users = mock(UserRepository.class);
+        Leaderboard fresh = new Leaderboard();
+        ReflectionTestUtils.setField(fresh, "userRepository", users);
+        when(users.findPointsStandingsByRole(User.UserRole.DONOR)).thenReturn(List.of(standing(7L, "Eve", 100)));
+        fresh.rebuild();
+
+        // Both awards commit after the rebuild started and before its read, but their events
+        // arrive in the opposite order
+        when(users.findPointsStandingsByRole(User.UserRole.DONOR)).thenAnswer(invocation -> {
+            fresh.onPointsAwarded(award(7L, 30, 180, 2));
+            fresh.onPointsAwarded(award(7L, 50, 150, 1));
+            return List.of(standing(7L, "Eve", 180));
+        });
+        fresh.rebuild();
+
+        assertEquals(180, fresh.rankOf(7L).points());
+
+        fresh.onPointsAwarded(award(7L, 20, 200, 3));
+        assertEquals(200, fresh.rankOf(7L).points());
+    }
+
+    private static PointsAwardedEvent award(Long userId, int points, int balance, long ledgerId) {
+        return new PointsAwardedEvent(userId, points, balance, PointsLedgerEntry.Reason.ADJUSTMENT, ledgerId);
+    }
+
+    private static UserRepository.PointsStanding standing(Long id, String firstName, int points) {
+        return new UserRepository.PointsStanding() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getLastName() {
+                return "Tester";
+            }
+
+            @Override
+            public int getPoints() {
+                return points;
+            }
+        };
+    }
+
+    private User createUser(User.UserRole role, String firstName, int points) {
+        User user = TestUsers.newUser(role, points);
+        user.setFirstName(firstName);
+        user.setLastName("Tester");
+        return userRepository.save(user);
+    }
+}
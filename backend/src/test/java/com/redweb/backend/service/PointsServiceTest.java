@@ -0,0 +1,100 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.PointsLedgerEntry;
+import com.redweb.backend.model.User;
+import com.redweb.backend.model.UserBadge;
+import com.redweb.backend.repository.PointsLedgerRepository;
+import com.redweb.backend.repository.UserBadgeRepository;
+import com.redweb.backend.repository.UserRepository;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class PointsServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int AWARDS_PER_THREAD = 25;
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private UserBadgeRepository userBadgeRepository;
+
+    @Test
+    void concurrentAwardsAreNeverLost() throws Exception {
+        User user = testUsers.create(User.UserRole.DONOR, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < AWARDS_PER_THREAD; i++) {
+                        pointsService.award(user.getId(), 10, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int expected = THREADS * AWARDS_PER_THREAD * 10;
+        assertEquals(expected, userRepository.findById(user.getId()).orElseThrow().getPoints());
+        assertEquals(expected, pointsLedgerRepository.sumPointsByUserId(user.getId()));
+    }
+
+    @Test
+    void savingAStaleUserKeepsTheBalance() {
+        User user = testUsers.create(User.UserRole.DONOR, 0);
+        User stale = userService.getUserById(user.getId());
+
+        pointsService.award(user.getId(), 40, PointsLedgerEntry.Reason.THANK_YOU_NOTE, null);
+        stale.setPhone("1111111111");
+        userService.updateUser(user.getId(), stale);
+
+        assertEquals(40, userRepository.findById(user.getId()).orElseThrow().getPoints());
+    }
+
+    @Test
+    void awardCrossingAThresholdEarnsTheBadge() {
+        // The seeded "First Time Donor" badge needs 100 points
+        User user = testUsers.create(User.UserRole.DONOR, 90);
+
+        pointsService.award(user.getId(), 20, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+
+        List<UserBadge> badges = userBadgeRepository.findByUser(user);
+        assertEquals(1, badges.size());
+        assertEquals("First Time Donor", badges.get(0).getBadge().getTitle());
+
+        // Staying between thresholds does not look at badges already passed
+        pointsService.award(user.getId(), 20, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+        assertEquals(1, userBadgeRepository.findByUser(user).size());
+    }
+}
@@ -0,0 +1,124 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.EmergencyRequest;
+import com.redweb.backend.model.EmergencyResponse;
+import com.redweb.backend.model.ResponderLocationPoint;
+import com.redweb.backend.model.User;
+import com.redweb.backend.support.TestUsers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Flushes only when the test asks for it
+@SpringBootTest(properties = "app.responderLocation.flushInterval=1h")
+class ResponderLocationTrackerTest {
+
+    private static final double REQUEST_LAT = 1.3521;
+    private static final double REQUEST_LON = 103.8198;
+    private static final double START_LAT = 1.3000;
+
+    @Autowired
+    private EmergencyRequestService emergencyRequestService;
+
+    @Autowired
+    private EmergencyResponseService emergencyResponseService;
+
+    @Autowired
+    private ResponderLocationTracker responderLocationTracker;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void coalescesPingsAndPersistsDownsampledTrailOnFlush() {
+        EmergencyResponse response = createResponse();
+
+        // Fifteen pings creeping ~11 m at a time (under the 200 m trail step), then a jump of ~1.1 km
+        ResponderLocationTracker.LivePosition position = null;
+        for (int i = 0; i < 15; i++) {
+            position = emergencyResponseService.updateEmergencyResponseLocation(
+                    response.getId(), START_LAT + i * 0.0001, REQUEST_LON);
+        }
+        position = emergencyResponseService.updateEmergencyResponseLocation(response.getId(), START_LAT + 0.012, REQUEST_LON);
+        assertTrue(position.estimatedArrivalTime().isAfter(LocalDateTime.now()));
+
+        // Nothing written yet, but readers already see the live position
+        assertEquals(START_LAT, storedLatitude(response.getId()));
+        assertEquals(0, trailRows(response.getId()));
+        assertEquals(START_LAT + 0.012, emergencyResponseService.getEmergencyResponseById(response.getId()).getCurrentLatitude());
+
+        responderLocationTracker.flush();
+
+        assertEquals(START_LAT + 0.012, storedLatitude(response.getId()));
+        List<ResponderLocationPoint> trail = emergencyResponseService.getEmergencyResponseTrail(response.getId());
+        assertEquals(2, trail.size());
+        assertEquals(START_LAT, trail.get(0).getLatitude());
+        assertEquals(START_LAT + 0.012, trail.get(1).getLatitude());
+    }
+
+    @Test
+    void arrivalWritesOutPendingPosition() {
+        EmergencyResponse response = createResponse();
+        emergencyResponseService.updateEmergencyResponseLocation(response.getId(), REQUEST_LAT, REQUEST_LON);
+
+        emergencyResponseService.updateEmergencyResponseStatus(response.getId(), EmergencyResponse.ResponseStatus.ARRIVED);
+
+        assertEquals(REQUEST_LAT, storedLatitude(response.getId()));
+        assertEquals(1, trailRows(response.getId()));
+        assertNull(responderLocationTracker.getPosition(response.getId()));
+    }
+
+    @Test
+    void readingATrailFlushesOnlyThatResponse() {
+        EmergencyResponse read = createResponse();
+        EmergencyResponse other = createResponse();
+        emergencyResponseService.updateEmergencyResponseLocation(read.getId(), REQUEST_LAT, REQUEST_LON);
+        emergencyResponseService.updateEmergencyResponseLocation(other.getId(), REQUEST_LAT, REQUEST_LON);
+
+        assertEquals(1, emergencyResponseService.getEmergencyResponseTrail(read.getId()).size());
+
+        assertEquals(REQUEST_LAT, storedLatitude(read.getId()));
+        assertEquals(START_LAT, storedLatitude(other.getId()));
+        assertEquals(0, trailRows(other.getId()));
+    }
+
+    private Double storedLatitude(Long responseId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT current_latitude FROM emergency_responses WHERE id = ?", Double.class, responseId);
+    }
+
+    private int trailRows(Long responseId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM responder_location_points WHERE response_id = ?", Integer.class, responseId);
+    }
+
+    private EmergencyResponse createResponse() {
+        User patient = testUsers.create(User.UserRole.PATIENT);
+        EmergencyRequest request = new EmergencyRequest();
+        request.setBloodType(BloodType.O_POSITIVE);
+        request.setUnitsNeeded(2);
+        request.setLatitude(REQUEST_LAT);
+        request.setLongitude(REQUEST_LON);
+        request.setUrgencyLevel(EmergencyRequest.UrgencyLevel.CRITICAL);
+        request = emergencyRequestService.createEmergencyRequest(patient.getId(), request);
+
+        EmergencyResponse response = new EmergencyResponse();
+        response.setEstimatedArrivalTime(LocalDateTime.now().plusMinutes(30));
+        response.setCurrentLatitude(START_LAT);
+        response.setCurrentLongitude(REQUEST_LON);
+        return emergencyResponseService.createEmergencyResponse(
+                testUsers.create(User.UserRole.DONOR).getId(), request.getId(), response);
+    }
+}
@@ -0,0 +1,143 @@
+package com.redweb.backend.service;
+
+import com.redweb.backend.config.SecondLevelCacheConfig;
+import com.redweb.backend.model.Badge;
+import com.redweb.backend.model.DonationDrive;
+import com.redweb.backend.model.PointsLedgerEntry;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.DonationDriveRepository;
+import com.redweb.backend.support.TestUsers;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Autowired
+    private PointsService pointsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DonationDriveService donationDriveService;
+
+    @Autowired
+    private DonationDriveRepository donationDriveRepository;
+
+    @Autowired
+    private TestUsers testUsers;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cache = entityManagerFactory.getCache();
+    }
+
+    @Test
+    void badgeListingsComeFromTheQueryCache() {
+        List<Badge> badges = badgeService.getAllBadges();
+        CacheRegionStatistics badgeQueries = statistics.getCacheRegionStatistics(SecondLevelCacheConfig.BADGE_QUERIES);
+        long hits = badgeQueries.getHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(badges, badgeService.getAllBadges());
+
+        assertEquals(hits + 1, badgeQueries.getHitCount());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void awardEvictsOnlyTheAwardedUser() {
+        User awarded = createUser();
+        User bystander = createUser();
+        Badge badge = badgeService.getAllBadges().get(0);
+        userService.getUserById(awarded.getId());
+        userService.getUserById(bystander.getId());
+        assertTrue(cache.contains(User.class, bystander.getId()));
+
+        // Crosses the seeded thresholds, so badges are inserted natively as well
+        pointsService.award(awarded.getId(), 600, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+
+        assertFalse(cache.contains(User.class, awarded.getId()));
+        assertTrue(cache.contains(User.class, bystander.getId()));
+        assertTrue(cache.contains(Badge.class, badge.getId()));
+        assertEquals(600, userService.getUserById(awarded.getId()).getPoints());
+    }
+
+    @Test
+    void findByEmailIsServedFromCacheAndSeesNewPoints() {
+        User user = createUser();
+        userService.findByEmail(user.getEmail());
+        long hits = statistics.getCacheRegionStatistics(SecondLevelCacheConfig.USER_BY_EMAIL).getHitCount();
+
+        pointsService.award(user.getId(), 25, PointsLedgerEntry.Reason.ADJUSTMENT, null);
+        User found = userService.findByEmail(user.getEmail()).orElseThrow();
+
+        assertEquals(hits + 1, statistics.getCacheRegionStatistics(SecondLevelCacheConfig.USER_BY_EMAIL).getHitCount());
+        assertEquals(25, found.getPoints());
+    }
+
+    @Test
+    void signUpEvictsOnlyThatDrive() {
+        User organizer = createUser();
+        DonationDrive signedUp = createDrive(organizer);
+        DonationDrive other = createDrive(organizer);
+        donationDriveService.getDonationDriveById(signedUp.getId());
+        donationDriveService.getDonationDriveById(other.getId());
+
+        donationDriveService.incrementCurrentDonors(signedUp.getId());
+
+        assertTrue(cache.contains(DonationDrive.class, other.getId()));
+        assertEquals(1, donationDriveService.getDonationDriveById(signedUp.getId()).getCurrentDonors());
+    }
+
+    private DonationDrive createDrive(User organizer) {
+        DonationDrive drive = new DonationDrive();
+        drive.setOrganizer(organizer);
+        drive.setTitle("Cached drive");
+        drive.setDescription("Test");
+        drive.setLatitude(1.0);
+        drive.setLongitude(1.0);
+        drive.setStartDate(LocalDateTime.now());
+        drive.setEndDate(LocalDateTime.now().plusDays(1));
+        drive.setRequiredBloodTypes(List.of("O+"));
+        drive.setMaxCapacity(10);
+        drive.setCurrentDonors(0);
+        drive.setStatus(DonationDrive.DriveStatus.ACTIVE);
+        return donationDriveRepository.save(drive);
+    }
+
+    private User createUser() {
+        User saved = testUsers.create(User.UserRole.DONOR);
+        // Ranked like a registered donor, so the award does not load the user to rank them
+        leaderboard.update(saved);
+        return saved;
+    }
+}
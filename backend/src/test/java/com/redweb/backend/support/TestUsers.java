@@ -0,0 +1,78 @@
+package com.redweb.backend.support;
+
+import com.redweb.backend.model.BloodType;
+import com.redweb.backend.model.HealthRecord;
+import com.redweb.backend.model.User;
+import com.redweb.backend.repository.HealthRecordRepository;
+import com.redweb.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Users for tests, with every required column filled in and an email no other test uses,
+ * so a test can add as many as it needs to a database earlier tests have written to.
+ */
+@Component
+public class TestUsers {
+
+    public static final double LATITUDE = 1.3521;
+    public static final double LONGITUDE = 103.8198;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HealthRecordRepository healthRecordRepository;
+
+    public User create(User.UserRole role) {
+        return create(role, 0);
+    }
+
+    // Points can only be set on insert
+    public User create(User.UserRole role, int points) {
+        return userRepository.save(newUser(role, points));
+    }
+
+    public User createDonor() {
+        return createDonor(0);
+    }
+
+    // A donor whose health record lets them give blood today
+    public User createDonor(int points) {
+        User donor = create(User.UserRole.DONOR, points);
+        HealthRecord record = new HealthRecord();
+        record.setUser(donor);
+        record.setLastDonationDate(LocalDate.now().minusMonths(4));
+        record.setNextEligibleDate(LocalDate.now().minusDays(1));
+        record.setMedicalConditions("None");
+        record.setMedications("None");
+        record.setMedicalNotes("Test");
+        record.setCreatedAt(LocalDateTime.now());
+        record.setUpdatedAt(LocalDateTime.now());
+        healthRecordRepository.save(record);
+        return donor;
+    }
+
+    // Not yet saved, for tests that change more fields first
+    public static User newUser(User.UserRole role, int points) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName(role.name());
+        user.setEmail(role.name().toLowerCase() + "-" + UUID.randomUUID() + "@redweb.test");
+        user.setPassword("x");
+        user.setPhone("0000000000");
+        user.setBloodType(BloodType.O_POSITIVE);
+        user.setLatitude(LATITUDE);
+        user.setLongitude(LONGITUDE);
+        user.setRole(role);
+        user.setEmergencyOptIn(false);
+        user.setPoints(points);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}